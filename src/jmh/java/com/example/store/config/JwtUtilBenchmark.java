@@ -0,0 +1,74 @@
+package com.example.store.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.example.store.pojo.AuthUser;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Token verification: the former path (a new parser per call, twice per
+ * validateToken), the shared parser alone, and the verified-claims cache hit
+ * that repeat requests take. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+	private SecretKey key;
+	private JwtUtil jwtUtil;
+	private AuthUser user;
+	private String token;
+
+	@Setup
+	public void setup() {
+		key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+		jwtUtil = new JwtUtil(SECRET, 10_000);
+		user = new AuthUser(7L, "alice", "hash", List.of(new SimpleGrantedAuthority("ROLE_SELLER")));
+		token = jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+	}
+
+	@Benchmark
+	public boolean parserPerCall() {
+		// What validateToken did before: extractUsername and isTokenExpired each built a parser and verified.
+		// The key was built once then too, so only the parsers are rebuilt here
+		final Claims subject = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+		final Claims expiry = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+		return subject.getSubject().equals(user.getUsername()) && expiry.getExpiration() != null;
+	}
+
+	@Benchmark
+	public Claims sharedParser() {
+		return jwtUtil.parseClaims(token);
+	}
+
+	@Benchmark
+	public Boolean cachedValidate() {
+		return jwtUtil.validateToken(token, user);
+	}
+}
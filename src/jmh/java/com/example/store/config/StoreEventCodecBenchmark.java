@@ -0,0 +1,64 @@
+package com.example.store.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.store.pojo.StoreEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Binary codec against the JSON strings previously sent to Kafka. Run with
+ * {@code ./gradlew jmh}; the payload sizes are compared in StoreEventCodecTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoreEventCodecBenchmark {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private StoreEvent event;
+	private byte[] binary;
+	private String json;
+
+	@Setup
+	public void setup() throws Exception {
+		event = StoreEvent.sellerCreated(1234L, 567890L, "Seller name", "Location");
+		event.setEventId(98765L);
+		binary = StoreEventCodec.encode(event);
+		json = objectMapper.writeValueAsString(event);
+	}
+
+	@Benchmark
+	public byte[] encodeBinary() {
+		return StoreEventCodec.encode(event);
+	}
+
+	@Benchmark
+	public StoreEvent decodeBinary() {
+		return StoreEventCodec.decode(binary);
+	}
+
+	@Benchmark
+	public byte[] encodeJson() throws Exception {
+		// The String payload is UTF-8 encoded again by StringSerializer
+		return objectMapper.writeValueAsString(event).getBytes("UTF-8");
+	}
+
+	@Benchmark
+	public StoreEvent decodeJson() throws Exception {
+		return objectMapper.readValue(json, StoreEvent.class);
+	}
+}
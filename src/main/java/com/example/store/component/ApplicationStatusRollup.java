@@ -0,0 +1,110 @@
+package com.example.store.component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.store.entity.ApplicationStatus;
+import com.example.store.entity.ApplicationStatus.Granularity;
+import com.example.store.repo.ApplicationStatusRepo;
+
+/**
+ * Downsamples application status rows: each node's MINUTE rows become one
+ * HOUR row per hour, and HOUR rows become one DAY row per day. The source rows
+ * are deleted in the same transaction. Gauges are averaged (weighted by
+ * sample count), GC counts and pause time are summed, and the pool wait and
+ * p99 keep their worst value.
+ */
+@Component
+public class ApplicationStatusRollup {
+
+	private final ApplicationStatusRepo applicationStatusRepository;
+
+	public ApplicationStatusRollup(final ApplicationStatusRepo applicationStatusRepository) {
+		this.applicationStatusRepository = applicationStatusRepository;
+	}
+
+	/**
+	 * Rolls up one bucket of rows older than the cutoff.
+	 *
+	 * @return false when nothing older than the cutoff is left
+	 */
+	@Transactional
+	public boolean rollupOldestBucket(final Granularity from, final Granularity to, final LocalDateTime cutoff) {
+		final Optional<ApplicationStatus> oldest = applicationStatusRepository
+				.findFirstByGranularityAndTimeBeforeOrderByTimeAsc(from, cutoff);
+		if (oldest.isEmpty()) {
+			return false;
+		}
+		final LocalDateTime bucketStart = truncate(oldest.get().getTime(), to);
+		final LocalDateTime bucketEnd = to == Granularity.DAY ? bucketStart.plusDays(1) : bucketStart.plusHours(1);
+		final List<ApplicationStatus> rows = applicationStatusRepository
+				.findByGranularityAndTimeGreaterThanEqualAndTimeLessThan(from, bucketStart, bucketEnd);
+		final Map<String, List<ApplicationStatus>> byNode = rows.stream()
+				.collect(Collectors.groupingBy(row -> Objects.toString(row.getNode(), "unknown")));
+		byNode.forEach((node, nodeRows) -> applicationStatusRepository.save(aggregate(node, to, bucketStart, nodeRows)));
+		applicationStatusRepository.deleteInBatch(rows);
+		return true;
+	}
+
+	private static ApplicationStatus aggregate(final String node, final Granularity granularity,
+			final LocalDateTime time, final List<ApplicationStatus> rows) {
+		final ApplicationStatus rollup = new ApplicationStatus();
+		rollup.setTime(time);
+		rollup.setNode(node);
+		rollup.setGranularity(granularity);
+		rollup.setStatus(rows.get(rows.size() - 1).getStatus());
+		rollup.setSamples(rows.stream().mapToInt(ApplicationStatusRollup::samples).sum());
+		rollup.setHeapUsed(average(rows, ApplicationStatus::getHeapUsed).map(Math::round).orElse(null));
+		rollup.setHeapMax(max(rows, ApplicationStatus::getHeapMax).map(Double::longValue).orElse(null));
+		rollup.setNonHeapUsed(average(rows, ApplicationStatus::getNonHeapUsed).map(Math::round).orElse(null));
+		rollup.setGcCount(sum(rows, ApplicationStatus::getGcCount));
+		rollup.setGcTimeMs(sum(rows, ApplicationStatus::getGcTimeMs));
+		rollup.setThreadCount(average(rows, ApplicationStatus::getThreadCount).map(v -> (int) Math.round(v)).orElse(null));
+		rollup.setPoolActive(average(rows, ApplicationStatus::getPoolActive).map(v -> (int) Math.round(v)).orElse(null));
+		rollup.setPoolIdle(average(rows, ApplicationStatus::getPoolIdle).map(v -> (int) Math.round(v)).orElse(null));
+		rollup.setPoolWaiting(max(rows, ApplicationStatus::getPoolWaiting).map(Double::intValue).orElse(null));
+		rollup.setRequestRate(average(rows, ApplicationStatus::getRequestRate).orElse(null));
+		rollup.setRequestP99Ms(max(rows, ApplicationStatus::getRequestP99Ms).orElse(null));
+		return rollup;
+	}
+
+	private static Optional<Double> average(final List<ApplicationStatus> rows,
+			final Function<ApplicationStatus, ? extends Number> value) {
+		double total = 0;
+		long weight = 0;
+		for (final ApplicationStatus row : rows) {
+			final Number number = value.apply(row);
+			if (number != null) {
+				total += number.doubleValue() * samples(row);
+				weight += samples(row);
+			}
+		}
+		return weight == 0 ? Optional.empty() : Optional.of(total / weight);
+	}
+
+	private static Optional<Double> max(final List<ApplicationStatus> rows,
+			final Function<ApplicationStatus, ? extends Number> value) {
+		return rows.stream().map(value).filter(Objects::nonNull).map(Number::doubleValue).max(Double::compare);
+	}
+
+	private static Long sum(final List<ApplicationStatus> rows, final Function<ApplicationStatus, Long> value) {
+		return rows.stream().map(value).filter(Objects::nonNull).mapToLong(Long::longValue).sum();
+	}
+
+	private static int samples(final ApplicationStatus row) {
+		return row.getSamples() == null ? 1 : row.getSamples();
+	}
+
+	private static LocalDateTime truncate(final LocalDateTime time, final Granularity granularity) {
+		return time.truncatedTo(granularity == Granularity.DAY ? ChronoUnit.DAYS : ChronoUnit.HOURS);
+	}
+}
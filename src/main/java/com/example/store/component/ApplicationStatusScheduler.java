@@ -1,25 +1,50 @@
 package com.example.store.component;
 
+import java.time.Duration;
+
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import com.example.store.repo.ApplicationStatusRepo;
+
+/**
+ * Schedules the application status work on every replica. The minute
+ * snapshot describes the node that takes it, so every node writes its own,
+ * directly: a Spring Batch job per node per minute would only add job
+ * metadata. The rollup works on the shared rows and the {@link ClusterLock}
+ * lets exactly one node launch it each tick.
+ */
 public class ApplicationStatusScheduler {
 
 	private final JobLauncher jobLauncher;
-	private final Job applicationStatusJob;
+	private final ClusterLock clusterLock;
+	private final ApplicationStatusRepo applicationStatusRepository;
+	private final RuntimeSnapshotCollector runtimeSnapshotCollector;
+	private final Job applicationStatusRollupJob;
 
-	public ApplicationStatusScheduler(final JobLauncher jobLauncher, final Job applicationStatusJob) {
+	public ApplicationStatusScheduler(final JobLauncher jobLauncher, final ClusterLock clusterLock,
+			final ApplicationStatusRepo applicationStatusRepository,
+			final RuntimeSnapshotCollector runtimeSnapshotCollector, final Job applicationStatusRollupJob) {
 		this.jobLauncher = jobLauncher;
-		this.applicationStatusJob = applicationStatusJob;
+		this.clusterLock = clusterLock;
+		this.applicationStatusRepository = applicationStatusRepository;
+		this.runtimeSnapshotCollector = runtimeSnapshotCollector;
+		this.applicationStatusRollupJob = applicationStatusRollupJob;
+	}
+
+	@Scheduled(cron = "0 * * * * *") // Runs every minute on every node
+	public void recordApplicationStatus() {
+		applicationStatusRepository.save(runtimeSnapshotCollector.collect());
 	}
 
-	@Scheduled(cron = "0 * * * * *") // Runs every minute
-	public void performApplicationStatusJob() throws Exception {
+	@Scheduled(cron = "0 5 * * * *") // Runs hourly, rolling minute snapshots into hours and hours into days
+	public void performApplicationStatusRollupJob() throws Exception {
 		final JobParameters jobParameters = new JobParametersBuilder().addLong("time", System.currentTimeMillis())
 				.toJobParameters();
-		jobLauncher.run(applicationStatusJob, jobParameters);
+		clusterLock.runLocked("applicationStatusRollupJob", Duration.ofMinutes(30), Duration.ofMinutes(1),
+				() -> jobLauncher.run(applicationStatusRollupJob, jobParameters));
 	}
 }
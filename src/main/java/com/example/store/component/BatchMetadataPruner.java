@@ -0,0 +1,123 @@
+package com.example.store.component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.store.repo.ApplicationStatusRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Every job run adds a job instance, execution, step execution and contexts.
+ * This removes completed executions of the configured jobs once they are
+ * older than the retention, together with old application_status rows
+ * written before the snapshot rollup existed, in small batches so the
+ * metadata tables stay small and the deletes never hold long locks. Snapshot
+ * rows are downsampled by {@link ApplicationStatusRollup} instead of deleted.
+ * applicationStatusJob is no longer launched (the minute snapshot is written
+ * directly) but stays in the default list until the executions it left
+ * behind have aged out.
+ * Failed executions are kept so they can still be inspected and restarted.
+ */
+@Slf4j
+@Component
+public class BatchMetadataPruner {
+
+	private static final int BATCH_SIZE = 500;
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationStatusRepo applicationStatusRepository;
+	private final ClusterLock clusterLock;
+
+	@Value("#{'${store.batch.prune-jobs:applicationStatusJob,applicationStatusRollupJob}'.split(',')}")
+	private List<String> jobNames;
+
+	@Value("${store.batch.metadata-retention:3d}")
+	private Duration metadataRetention;
+
+	@Value("${store.status.retention:7d}")
+	private Duration statusRetention;
+
+	public BatchMetadataPruner(final NamedParameterJdbcTemplate jdbcTemplate,
+			final PlatformTransactionManager transactionManager,
+			final ApplicationStatusRepo applicationStatusRepository, final ClusterLock clusterLock) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.applicationStatusRepository = applicationStatusRepository;
+		this.clusterLock = clusterLock;
+	}
+
+	@Scheduled(cron = "${store.batch.prune-cron:0 30 * * * *}")
+	public void prune() throws Exception {
+		clusterLock.runLocked("batchMetadataPruner", Duration.ofMinutes(30), Duration.ofMinutes(1), this::pruneNow);
+	}
+
+	private void pruneNow() {
+		final LocalDateTime metadataCutoff = LocalDateTime.now().minus(metadataRetention);
+		for (final String jobName : jobNames) {
+			final long pruned = pruneJob(jobName.trim(), metadataCutoff);
+			if (pruned > 0) {
+				log.info("Pruned {} executions of {} older than {}", pruned, jobName, metadataCutoff);
+			}
+		}
+		final int statuses = transactionTemplate.execute(
+				status -> applicationStatusRepository.deleteLegacyOlderThan(LocalDateTime.now().minus(statusRetention)));
+		if (statuses > 0) {
+			log.info("Pruned {} application status rows", statuses);
+		}
+	}
+
+	private long pruneJob(final String jobName, final LocalDateTime cutoff) {
+		long pruned = 0;
+		while (true) {
+			final List<Map<String, Object>> executions = jdbcTemplate.queryForList(
+					"SELECT e.JOB_EXECUTION_ID, e.JOB_INSTANCE_ID FROM BATCH_JOB_EXECUTION e"
+							+ " JOIN BATCH_JOB_INSTANCE i ON i.JOB_INSTANCE_ID = e.JOB_INSTANCE_ID"
+							+ " WHERE i.JOB_NAME = :jobName AND e.STATUS = 'COMPLETED' AND e.END_TIME < :cutoff"
+							+ " ORDER BY e.JOB_EXECUTION_ID LIMIT " + BATCH_SIZE,
+					new MapSqlParameterSource("jobName", jobName).addValue("cutoff", cutoff));
+			if (executions.isEmpty()) {
+				return pruned;
+			}
+			final Set<Long> executionIds = ids(executions, "JOB_EXECUTION_ID");
+			final Set<Long> instanceIds = ids(executions, "JOB_INSTANCE_ID");
+			transactionTemplate.executeWithoutResult(status -> deleteExecutions(executionIds, instanceIds));
+			pruned += executionIds.size();
+		}
+	}
+
+	// Children first, matching the foreign keys of the Spring Batch schema
+	private void deleteExecutions(final Set<Long> executionIds, final Set<Long> instanceIds) {
+		final MapSqlParameterSource params = new MapSqlParameterSource("executionIds", executionIds)
+				.addValue("instanceIds", instanceIds);
+		jdbcTemplate.update("DELETE FROM BATCH_STEP_EXECUTION_CONTEXT WHERE STEP_EXECUTION_ID IN"
+				+ " (SELECT STEP_EXECUTION_ID FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (:executionIds))",
+				params);
+		jdbcTemplate.update("DELETE FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (:executionIds)", params);
+		jdbcTemplate.update("DELETE FROM BATCH_JOB_EXECUTION_CONTEXT WHERE JOB_EXECUTION_ID IN (:executionIds)",
+				params);
+		jdbcTemplate.update("DELETE FROM BATCH_JOB_EXECUTION_PARAMS WHERE JOB_EXECUTION_ID IN (:executionIds)",
+				params);
+		jdbcTemplate.update("DELETE FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID IN (:executionIds)", params);
+		jdbcTemplate.update("DELETE FROM BATCH_JOB_INSTANCE WHERE JOB_INSTANCE_ID IN (:instanceIds) AND NOT EXISTS"
+				+ " (SELECT 1 FROM BATCH_JOB_EXECUTION e WHERE e.JOB_INSTANCE_ID = BATCH_JOB_INSTANCE.JOB_INSTANCE_ID)",
+				params);
+	}
+
+	private static Set<Long> ids(final List<Map<String, Object>> rows, final String column) {
+		return rows.stream().map(row -> ((Number) row.get(column)).longValue()).collect(Collectors.toSet());
+	}
+}
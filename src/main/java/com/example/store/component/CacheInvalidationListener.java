@@ -0,0 +1,87 @@
+package com.example.store.component;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.store.config.CacheConfig;
+import com.example.store.entity.Seller;
+import com.example.store.entity.Store;
+import com.example.store.pojo.CacheInvalidationEvent;
+import com.example.store.service.KafkaProducerService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the local caches of all replicas in step, both the Spring caches and
+ * the Hibernate second-level cache. Writes evict locally once their
+ * transaction commits and broadcast the key; every node (including the writer)
+ * evicts again when the broadcast arrives.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationListener {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private KafkaProducerService kafkaProducerService;
+
+	@Value("${store.cache.invalidation-topic:javami-cache-invalidation}")
+	private String invalidationTopic;
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onCommit(final CacheInvalidationEvent event) {
+		evict(event);
+		// Keyed by the message itself, so invalidations of one row stay in order on one partition
+		final String message = event.toMessage();
+		kafkaProducerService.sendMessage(invalidationTopic, message, message).whenComplete((result, e) -> {
+			if (e != null) {
+				// The write is already committed; other nodes fall back to the cache TTL
+				log.warn("Could not broadcast cache invalidation {}", event, e);
+			}
+		});
+	}
+
+	// Each node needs every invalidation, so each one joins its own group derived from javami-consumer-group.
+	// Only keys written from now on matter, hence latest instead of the shared earliest reset.
+	@KafkaListener(topics = "${store.cache.invalidation-topic:javami-cache-invalidation}",
+			groupId = "${spring.kafka.consumer.group-id}-cache-${HOSTNAME:${random.uuid}}",
+			properties = "auto.offset.reset=latest")
+	public void onMessage(final String message) {
+		try {
+			evict(CacheInvalidationEvent.fromMessage(message));
+		} catch (final IllegalArgumentException e) {
+			log.warn("Ignoring cache invalidation message {}", message, e);
+		}
+	}
+
+	private void evict(final CacheInvalidationEvent event) {
+		switch (event.getType()) {
+		case SELLER:
+			final Cache sellers = cacheManager.getCache(CacheConfig.SELLER_CACHE);
+			if (sellers != null) {
+				sellers.evict(event.getId());
+			}
+			entityManagerFactory.getCache().evict(Seller.class, event.getId());
+			break;
+		case STORE:
+			entityManagerFactory.getCache().evict(Store.class, event.getId());
+			entityManagerFactory.unwrap(SessionFactory.class).getCache()
+					.evictCollectionData(Store.class.getName() + ".sellers", event.getId());
+			break;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.example.store.component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.store.entity.SchedulerLock;
+import com.example.store.repo.SchedulerLockRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Database lease so a scheduled job runs on one node per tick when several
+ * replicas share the database. The lock row is held until lockAtMostFor has
+ * passed; long runs extend it every half lease, so a crashed node frees it
+ * after at most one lease. On release the lock is kept until lockAtLeastFor
+ * after acquisition so a node whose clock or trigger is slightly behind does
+ * not run the same tick again.
+ *
+ * Every lock operation commits in its own transaction, independent of the
+ * caller's.
+ */
+@Slf4j
+@Component
+public class ClusterLock {
+
+	@FunctionalInterface
+	public interface LockedTask {
+		void run() throws Exception;
+	}
+
+	private final SchedulerLockRepo schedulerLockRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final String owner;
+	private final ScheduledExecutorService extender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "cluster-lock-extender");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public ClusterLock(final SchedulerLockRepo schedulerLockRepository,
+			final PlatformTransactionManager transactionManager, final MeterRegistry meterRegistry) {
+		this.schedulerLockRepository = schedulerLockRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.meterRegistry = meterRegistry;
+		this.owner = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+	}
+
+	/**
+	 * Runs the task if this node can take the named lock.
+	 *
+	 * @return false when another node holds the lock and the task was skipped
+	 */
+	public boolean runLocked(final String name, final Duration lockAtMostFor, final Duration lockAtLeastFor,
+			final LockedTask task) throws Exception {
+		final LocalDateTime acquiredAt = LocalDateTime.now();
+		if (!tryAcquire(name, acquiredAt, acquiredAt.plus(lockAtMostFor))) {
+			meterRegistry.counter("cluster.lock", "name", name, "result", "contended").increment();
+			log.debug("Lock {} is held by another node, skipping", name);
+			return false;
+		}
+		meterRegistry.counter("cluster.lock", "name", name, "result", "acquired").increment();
+		final long extendEveryMs = Math.max(1, lockAtMostFor.toMillis() / 2);
+		final ScheduledFuture<?> extension = extender.scheduleAtFixedRate(() -> extend(name, lockAtMostFor),
+				extendEveryMs, extendEveryMs, TimeUnit.MILLISECONDS);
+		try {
+			task.run();
+			return true;
+		} finally {
+			extension.cancel(false);
+			release(name, acquiredAt.plus(lockAtLeastFor));
+		}
+	}
+
+	private boolean tryAcquire(final String name, final LocalDateTime now, final LocalDateTime lockUntil) {
+		final Integer updated = transactionTemplate
+				.execute(status -> schedulerLockRepository.acquire(name, owner, now, lockUntil));
+		if (updated != null && updated > 0) {
+			return true;
+		}
+		if (schedulerLockRepository.existsById(name)) {
+			return false;
+		}
+		// First use of this lock name: persist (not merge) so a concurrent insert fails on the primary key
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				entityManager.persist(new SchedulerLock(name, lockUntil, now, owner));
+				entityManager.flush();
+			});
+			return true;
+		} catch (final PersistenceException | DataAccessException e) {
+			return false;
+		}
+	}
+
+	private void extend(final String name, final Duration lockAtMostFor) {
+		try {
+			final LocalDateTime now = LocalDateTime.now();
+			final Integer updated = transactionTemplate
+					.execute(status -> schedulerLockRepository.extend(name, owner, now, now.plus(lockAtMostFor)));
+			if (updated != null && updated > 0) {
+				meterRegistry.counter("cluster.lock", "name", name, "result", "extended").increment();
+			} else {
+				meterRegistry.counter("cluster.lock", "name", name, "result", "lost").increment();
+				log.warn("Lock {} expired before it could be extended; another node may now run the same job", name);
+			}
+		} catch (final RuntimeException e) {
+			log.warn("Failed to extend lock {}", name, e);
+		}
+	}
+
+	private void release(final String name, final LocalDateTime notBefore) {
+		final LocalDateTime now = LocalDateTime.now();
+		final LocalDateTime lockUntil = notBefore.isAfter(now) ? notBefore : now;
+		try {
+			transactionTemplate.execute(status -> schedulerLockRepository.release(name, owner, lockUntil));
+		} catch (final RuntimeException e) {
+			// The lease still runs out on its own
+			log.warn("Failed to release lock {}", name, e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		extender.shutdownNow();
+	}
+
+	private static String hostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (final UnknownHostException e) {
+			return "unknown";
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.example.store.component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.store.pojo.StoreEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drops store events this node has already applied, in memory only:
+ * <ul>
+ * <li>a record at or below the highest offset applied for its partition is a
+ * redelivery after a rebalance or a retried batch;</li>
+ * <li>a new record whose event id was applied recently, or appears earlier in
+ * the same batch, is a resend of the same outbox row, e.g. after the relay
+ * stopped between the ack and marking the row sent.</li>
+ * </ul>
+ * The recent ids are a bounded LRU of store.view.dedupe-capacity entries;
+ * outbox resends happen within seconds, so a small window is enough.
+ */
+@Component
+public class EventDeduplicator {
+
+	private final Map<TopicPartition, Long> highWaterMarks = new ConcurrentHashMap<>();
+	private final Map<Long, Boolean> recentEventIds;
+	private final MeterRegistry meterRegistry;
+
+	public EventDeduplicator(@Value("${store.view.dedupe-capacity:100000}") final int capacity,
+			final MeterRegistry meterRegistry) {
+		this.recentEventIds = new LinkedHashMap<Long, Boolean>(capacity, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Long, Boolean> eldest) {
+				return size() > capacity;
+			}
+		};
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Nothing is remembered here, so a batch that fails to apply is not
+	 * dropped when it is redelivered; call {@link #markApplied} once the
+	 * returned records have been applied.
+	 *
+	 * @return the records not applied before, in their original order
+	 */
+	public List<ConsumerRecord<String, StoreEvent>> filter(final List<ConsumerRecord<String, StoreEvent>> records) {
+		final List<ConsumerRecord<String, StoreEvent>> candidates = new ArrayList<>(records.size());
+		final Set<Long> batchEventIds = new HashSet<>();
+		for (final ConsumerRecord<String, StoreEvent> record : records) {
+			final Long highWaterMark = highWaterMarks.get(new TopicPartition(record.topic(), record.partition()));
+			if (highWaterMark != null && record.offset() <= highWaterMark) {
+				meterRegistry.counter("kafka.consumer.duplicates", "reason", "offset").increment();
+				continue;
+			}
+			final Long eventId = record.value().getEventId();
+			if (eventId != null && (seenRecently(eventId) || !batchEventIds.add(eventId))) {
+				meterRegistry.counter("kafka.consumer.duplicates", "reason", "event-id").increment();
+				continue;
+			}
+			candidates.add(record);
+		}
+		return candidates;
+	}
+
+	// A partition is consumed by one thread at a time, so only the recent ids are shared
+	public void markApplied(final List<ConsumerRecord<String, StoreEvent>> records) {
+		for (final ConsumerRecord<String, StoreEvent> record : records) {
+			highWaterMarks.merge(new TopicPartition(record.topic(), record.partition()), record.offset(), Math::max);
+			final Long eventId = record.value().getEventId();
+			if (eventId != null) {
+				synchronized (recentEventIds) {
+					recentEventIds.put(eventId, Boolean.TRUE);
+				}
+			}
+		}
+	}
+
+	private boolean seenRecently(final Long eventId) {
+		synchronized (recentEventIds) {
+			// get, not containsKey, so a resent id counts as recently used
+			return recentEventIds.get(eventId) != null;
+		}
+	}
+}
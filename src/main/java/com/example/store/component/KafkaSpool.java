@@ -0,0 +1,259 @@
+package com.example.store.component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local append-only spool for Kafka messages that could not be sent, drained
+ * in order by {@link KafkaSpoolReplayer}. Messages go into memory-mapped
+ * segment files of store.kafka.spool-segment-size under store.kafka.spool-dir;
+ * a full segment is forced to disk and a new one started, and a segment is
+ * deleted once everything in it has been replayed.
+ *
+ * Segment layout: an 8 byte read offset, then records of
+ * [int length][short topic length][topic][int key length, -1 for null][key][int value length][value].
+ * The length is written after the record body, so a record cut short by a crash
+ * reads as the end of the segment. Appends reach the page cache immediately
+ * and survive a JVM crash; {@link #force()} flushes them for an OS crash.
+ */
+@Slf4j
+@Component
+public class KafkaSpool {
+
+	private static final int HEADER = 8;
+	private static final String SUFFIX = ".seg";
+
+	private final Path directory;
+	private final int segmentSize;
+	private final Deque<Segment> segments = new ArrayDeque<>();
+	private long pending;
+
+	public KafkaSpool(@Value("${store.kafka.spool-dir:spool}") final String directory,
+			@Value("${store.kafka.spool-segment-size:64MB}") final DataSize segmentSize,
+			final MeterRegistry meterRegistry) throws IOException {
+		this.directory = Paths.get(directory);
+		this.segmentSize = (int) Math.min(segmentSize.toBytes(), Integer.MAX_VALUE);
+		recover();
+		Gauge.builder("kafka.spool.pending", this, KafkaSpool::getPending).register(meterRegistry);
+	}
+
+	public static final class SpooledMessage {
+		private final String topic;
+		private final String key;
+		private final String value;
+		private final int next;
+
+		SpooledMessage(final String topic, final String key, final String value, final int next) {
+			this.topic = topic;
+			this.key = key;
+			this.value = value;
+			this.next = next;
+		}
+
+		public String getTopic() {
+			return topic;
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		public String getValue() {
+			return value;
+		}
+	}
+
+	public synchronized void append(final String topic, final String key, final String value) {
+		final byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+		final byte[] keyBytes = key == null ? null : key.getBytes(StandardCharsets.UTF_8);
+		final byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+		final int length = 2 + topicBytes.length + 4 + (keyBytes == null ? 0 : keyBytes.length) + 4
+				+ valueBytes.length;
+		if (HEADER + 4 + length > segmentSize) {
+			throw new IllegalArgumentException("Message of " + length + " bytes does not fit a spool segment");
+		}
+		Segment segment = segments.peekLast();
+		if (segment == null || segment.writePos + 4 + length > segment.buffer.capacity()) {
+			if (segment != null) {
+				segment.buffer.force();
+			}
+			segment = createSegment(segment == null ? 0 : segment.sequence + 1);
+		}
+		final ByteBuffer record = segment.buffer.duplicate();
+		record.position(segment.writePos + 4);
+		record.putShort((short) topicBytes.length).put(topicBytes);
+		if (keyBytes == null) {
+			record.putInt(-1);
+		} else {
+			record.putInt(keyBytes.length).put(keyBytes);
+		}
+		record.putInt(valueBytes.length).put(valueBytes);
+		segment.buffer.putInt(segment.writePos, length);
+		segment.writePos += 4 + length;
+		pending++;
+	}
+
+	/**
+	 * Oldest messages not yet committed, in append order; at most max and
+	 * never across a segment boundary.
+	 */
+	public synchronized List<SpooledMessage> peek(final int max) {
+		final Segment segment = head();
+		final List<SpooledMessage> messages = new ArrayList<>();
+		if (segment == null) {
+			return messages;
+		}
+		final ByteBuffer record = segment.buffer.duplicate();
+		int position = segment.readPos;
+		while (messages.size() < max && position < segment.writePos) {
+			final int length = record.getInt(position);
+			record.position(position + 4);
+			final String topic = readString(record, record.getShort());
+			final String key = readString(record, record.getInt());
+			final String value = readString(record, record.getInt());
+			position += 4 + length;
+			messages.add(new SpooledMessage(topic, key, value, position));
+		}
+		return messages;
+	}
+
+	/**
+	 * Marks a prefix of the messages last returned by {@link #peek(int)} as
+	 * delivered.
+	 */
+	public synchronized void commit(final List<SpooledMessage> delivered) {
+		final Segment segment = segments.peekFirst();
+		if (delivered.isEmpty() || segment == null) {
+			return;
+		}
+		segment.readPos = delivered.get(delivered.size() - 1).next;
+		segment.buffer.putLong(0, segment.readPos);
+		pending -= delivered.size();
+		head();
+	}
+
+	public synchronized boolean isEmpty() {
+		return pending == 0;
+	}
+
+	public synchronized long getPending() {
+		return pending;
+	}
+
+	public synchronized void force() {
+		final Segment segment = segments.peekLast();
+		if (segment != null) {
+			segment.buffer.force();
+		}
+	}
+
+	// Drops fully replayed segments other than the one still being written
+	private Segment head() {
+		while (segments.size() > 1 && segments.peekFirst().readPos >= segments.peekFirst().writePos) {
+			final Segment done = segments.pollFirst();
+			try {
+				Files.deleteIfExists(done.path);
+			} catch (final IOException e) {
+				log.warn("Could not delete replayed spool segment {}", done.path, e);
+			}
+		}
+		return segments.peekFirst();
+	}
+
+	private void recover() throws IOException {
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+		final List<Path> files;
+		try (Stream<Path> list = Files.list(directory)) {
+			files = list.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted()
+					.collect(Collectors.toList());
+		}
+		for (final Path file : files) {
+			final String name = file.getFileName().toString();
+			final Segment segment = map(file, Long.parseLong(name.substring(0, name.length() - SUFFIX.length())));
+			segments.addLast(segment);
+		}
+		if (pending > 0) {
+			log.info("Recovered {} spooled Kafka messages from {}", pending, directory);
+		}
+	}
+
+	private Segment createSegment(final long sequence) {
+		try {
+			Files.createDirectories(directory);
+			final Segment segment = map(directory.resolve(String.format("%020d%s", sequence, SUFFIX)), sequence);
+			segments.addLast(segment);
+			return segment;
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private Segment map(final Path path, final long sequence) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			final long size = Math.max(channel.size(), segmentSize);
+			// The mapping stays valid after the channel is closed
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			final Segment segment = new Segment(path, sequence, buffer);
+			segment.readPos = (int) Math.max(HEADER, buffer.getLong(0));
+			int position = segment.readPos;
+			while (position + 4 <= buffer.capacity()) {
+				final int length = buffer.getInt(position);
+				if (length <= 0 || position + 4 + length > buffer.capacity()) {
+					break;
+				}
+				position += 4 + length;
+				pending++;
+			}
+			segment.writePos = position;
+			return segment;
+		}
+	}
+
+	private static String readString(final ByteBuffer buffer, final int length) {
+		if (length < 0) {
+			return null;
+		}
+		final byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static final class Segment {
+		private final Path path;
+		private final long sequence;
+		private final MappedByteBuffer buffer;
+		private int readPos;
+		private int writePos;
+
+		Segment(final Path path, final long sequence, final MappedByteBuffer buffer) {
+			this.path = path;
+			this.sequence = sequence;
+			this.buffer = buffer;
+		}
+	}
+}
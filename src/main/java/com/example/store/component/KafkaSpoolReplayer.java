@@ -0,0 +1,122 @@
+package com.example.store.component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.store.component.KafkaSpool.SpooledMessage;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the {@link KafkaSpool} to Kafka in append order. Runs as soon as the
+ * kafkaProducer circuit breaker moves to half-open or closed, and on a
+ * schedule for messages left over from a previous run. Sends go through the
+ * breaker, so the half-open trial calls are the replayed messages themselves
+ * and a still-broken broker opens it again. Only the acked prefix of each
+ * batch is committed, so nothing is skipped; a message may be sent twice if
+ * the node stops between the ack and the commit.
+ */
+@Slf4j
+@Component
+public class KafkaSpoolReplayer {
+
+	private final KafkaSpool spool;
+	private final KafkaTemplate<String, String> kafkaTemplate;
+	private final CircuitBreaker circuitBreaker;
+	private final ReentrantLock replaying = new ReentrantLock();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "kafka-spool-replayer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@Value("${store.kafka.spool-replay-batch:100}")
+	private int batchSize;
+
+	@Value("${store.kafka.spool-replay-timeout:30s}")
+	private Duration sendTimeout;
+
+	public KafkaSpoolReplayer(final KafkaSpool spool, final KafkaTemplate<String, String> kafkaTemplate,
+			final CircuitBreakerRegistry circuitBreakerRegistry) {
+		this.spool = spool;
+		this.kafkaTemplate = kafkaTemplate;
+		this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("kafkaProducer");
+		this.circuitBreaker.getEventPublisher().onStateTransition(event -> {
+			final CircuitBreaker.State to = event.getStateTransition().getToState();
+			if (to == CircuitBreaker.State.HALF_OPEN || to == CircuitBreaker.State.CLOSED) {
+				executor.execute(this::replay);
+			}
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${store.kafka.spool-replay-interval:5000}")
+	public void scheduledReplay() {
+		spool.force();
+		replay();
+	}
+
+	public void replay() {
+		if (!replaying.tryLock()) {
+			return;
+		}
+		try {
+			while (!spool.isEmpty() && circuitBreaker.getState() != CircuitBreaker.State.OPEN) {
+				final List<SpooledMessage> batch = spool.peek(batchSize);
+				if (batch.isEmpty()) {
+					return;
+				}
+				final int delivered = send(batch);
+				spool.commit(batch.subList(0, delivered));
+				if (delivered < batch.size()) {
+					return;
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			replaying.unlock();
+		}
+	}
+
+	// Sends the whole batch without waiting in between, then counts the acked prefix
+	private int send(final List<SpooledMessage> batch) throws InterruptedException {
+		final List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+		for (final SpooledMessage message : batch) {
+			sends.add(circuitBreaker.executeCompletionStage(() -> kafkaTemplate
+					.send(message.getTopic(), message.getKey(), message.getValue()).completable())
+					.toCompletableFuture());
+		}
+		final long deadline = System.nanoTime() + sendTimeout.toNanos();
+		for (int i = 0; i < sends.size(); i++) {
+			try {
+				sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (final ExecutionException | TimeoutException e) {
+				log.warn("Spool replay stopped after {} messages, {} still spooled", i, spool.getPending() - i, e);
+				return i;
+			}
+		}
+		return sends.size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
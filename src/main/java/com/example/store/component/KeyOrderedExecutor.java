@@ -0,0 +1,46 @@
+package com.example.store.component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks in parallel while keeping the order of tasks with the same key:
+ * each key hashes to one of a fixed number of single-threaded lanes. Tasks
+ * with different keys may run in any order relative to each other.
+ */
+public class KeyOrderedExecutor implements AutoCloseable {
+
+	private final ExecutorService[] lanes;
+
+	public KeyOrderedExecutor(final String name, final int laneCount) {
+		if (laneCount < 1) {
+			throw new IllegalArgumentException("At least one lane is required");
+		}
+		lanes = new ExecutorService[laneCount];
+		final AtomicInteger threads = new AtomicInteger();
+		for (int i = 0; i < laneCount; i++) {
+			lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+				final Thread thread = new Thread(runnable, name + "-" + threads.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	public CompletableFuture<Void> submit(final Object key, final Runnable task) {
+		return CompletableFuture.runAsync(task, lanes[lane(key)]);
+	}
+
+	int lane(final Object key) {
+		return key == null ? 0 : (key.hashCode() & Integer.MAX_VALUE) % lanes.length;
+	}
+
+	@Override
+	public void close() {
+		for (final ExecutorService lane : lanes) {
+			lane.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.example.store.component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.store.entity.OutboxEvent;
+import com.example.store.pojo.StoreEvent;
+import com.example.store.repo.OutboxEventRepo;
+import com.example.store.service.KafkaProducerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes unsent outbox rows to Kafka as binary {@link StoreEvent}s (the
+ * outbox keeps JSON so rows stay readable), keyed by store id, and marks them
+ * sent once the broker has acked. A batch is sent without waiting between
+ * records so the producer can batch them; only the acked prefix of the batch
+ * is marked, so a failed event is retried on the next poll before anything
+ * queued after it. A crash between the ack and the update causes a
+ * redelivery, never a loss. Runs on one node at a time under the
+ * {@link ClusterLock}.
+ *
+ * Rows are relayed in created_at order, which is not commit order: a row
+ * whose transaction commits after a later one has been relayed goes out on
+ * the next poll, behind it, and writers on different nodes race within the
+ * same millisecond. Consumers must therefore tolerate events of one store
+ * arriving out of order, as {@link SellerView} does.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+	private final OutboxEventRepo outboxEventRepository;
+	private final KafkaProducerService kafkaProducerService;
+	private final ClusterLock clusterLock;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${store.outbox.topic:javami-store-events}")
+	private String topic;
+
+	@Value("${store.outbox.batch-size:500}")
+	private int batchSize;
+
+	@Value("${store.outbox.send-timeout:30s}")
+	private Duration sendTimeout;
+
+	@Value("${store.outbox.retention:1d}")
+	private Duration retention;
+
+	public OutboxRelay(final OutboxEventRepo outboxEventRepository, final KafkaProducerService kafkaProducerService,
+			final ClusterLock clusterLock, final ObjectMapper objectMapper,
+			final PlatformTransactionManager transactionManager) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.kafkaProducerService = kafkaProducerService;
+		this.clusterLock = clusterLock;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Scheduled(fixedDelayString = "${store.outbox.poll-interval:1000}")
+	public void relay() throws Exception {
+		clusterLock.runLocked("outboxRelay", Duration.ofMinutes(1), Duration.ZERO, () -> {
+			while (relayBatch() == batchSize) {
+				// A full batch was acked; more may be waiting
+			}
+		});
+	}
+
+	@Scheduled(cron = "${store.outbox.cleanup-cron:0 15 * * * *}")
+	public void cleanup() throws Exception {
+		clusterLock.runLocked("outboxCleanup", Duration.ofMinutes(10), Duration.ofMinutes(1), () -> {
+			final Integer deleted = transactionTemplate.execute(
+					status -> outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+			if (deleted != null && deleted > 0) {
+				log.info("Deleted {} sent outbox events", deleted);
+			}
+		});
+	}
+
+	/**
+	 * @return the number of events marked sent
+	 */
+	private int relayBatch() throws InterruptedException {
+		final List<OutboxEvent> events = outboxEventRepository
+				.findBySentAtIsNullOrderByCreatedAtAscIdAsc(PageRequest.of(0, batchSize));
+		if (events.isEmpty()) {
+			return 0;
+		}
+		final List<CompletableFuture<SendResult<String, StoreEvent>>> sends = new ArrayList<>(events.size());
+		for (final OutboxEvent event : events) {
+			sends.add(send(event));
+		}
+		final List<Long> acked = new ArrayList<>(events.size());
+		final long deadline = System.nanoTime() + sendTimeout.toNanos();
+		for (int i = 0; i < sends.size(); i++) {
+			try {
+				sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				acked.add(events.get(i).getId());
+			} catch (final ExecutionException | TimeoutException e) {
+				log.warn("Outbox event {} not acked, retrying from it on the next poll", events.get(i).getId(), e);
+				break;
+			}
+		}
+		if (!acked.isEmpty()) {
+			transactionTemplate.execute(status -> outboxEventRepository.markSent(acked, LocalDateTime.now()));
+		}
+		return acked.size();
+	}
+
+	private CompletableFuture<SendResult<String, StoreEvent>> send(final OutboxEvent event) {
+		final StoreEvent storeEvent;
+		try {
+			storeEvent = objectMapper.readValue(event.getPayload(), StoreEvent.class);
+		} catch (final JsonProcessingException | IllegalArgumentException e) {
+			// Can never be sent; completing it lets it be marked instead of blocking every event after it
+			log.error("Dropping unreadable outbox event {}", event.getId(), e);
+			return CompletableFuture.completedFuture(null);
+		}
+		storeEvent.setEventId(event.getId());
+		return kafkaProducerService.sendStoreEvent(topic, storeEvent);
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.store.component;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records how long each partition of a partitioned step took, as a log line
+ * and as the batch.partition timer tagged with the partition's step name.
+ */
+@Slf4j
+public class PartitionTimingListener implements StepExecutionListener {
+
+	private final MeterRegistry meterRegistry;
+
+	public PartitionTimingListener(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void beforeStep(final StepExecution stepExecution) {
+		// Start time is already on the step execution
+	}
+
+	@Override
+	public ExitStatus afterStep(final StepExecution stepExecution) {
+		final Date startTime = stepExecution.getStartTime();
+		final Duration duration = Duration.ofMillis(System.currentTimeMillis() - startTime.getTime());
+		Timer.builder("batch.partition").tag("step", stepExecution.getStepName())
+				.tag("status", stepExecution.getStatus().toString()).register(meterRegistry).record(duration);
+		log.info("{} [{}..{}] {} in {} ms: read={}, written={}, filtered={}, skipped={}", stepExecution.getStepName(),
+				stepExecution.getExecutionContext().get("minId"), stepExecution.getExecutionContext().get("maxId"),
+				stepExecution.getStatus(), duration.toMillis(), stepExecution.getReadCount(),
+				stepExecution.getWriteCount(), stepExecution.getFilterCount(), stepExecution.getSkipCount());
+		return stepExecution.getExitStatus();
+	}
+}
@@ -0,0 +1,105 @@
+package com.example.store.component;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.example.store.entity.ApplicationStatus;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Builds the MINUTE {@link ApplicationStatus} snapshot each node writes
+ * every minute through {@link ApplicationStatusScheduler}: JVM memory, GC and threads from the platform MXBeans, the
+ * Hikari pool and HTTP request figures from the meters Boot already records.
+ * GC and request counts are turned into per-interval deltas.
+ */
+@Component
+public class RuntimeSnapshotCollector {
+
+	private final MeterRegistry meterRegistry;
+	private final String node;
+
+	private long lastGcCount;
+	private long lastGcTimeMs;
+	private long lastRequestCount;
+	private long lastSampleNanos;
+
+	public RuntimeSnapshotCollector(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		this.node = hostName();
+	}
+
+	public synchronized ApplicationStatus collect() {
+		final ApplicationStatus snapshot = new ApplicationStatus();
+		snapshot.setTime(LocalDateTime.now());
+		snapshot.setStatus("UP");
+		snapshot.setNode(node);
+		snapshot.setGranularity(ApplicationStatus.Granularity.MINUTE);
+		snapshot.setSamples(1);
+
+		final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		snapshot.setHeapUsed(memory.getHeapMemoryUsage().getUsed());
+		snapshot.setHeapMax(memory.getHeapMemoryUsage().getMax());
+		snapshot.setNonHeapUsed(memory.getNonHeapMemoryUsage().getUsed());
+		snapshot.setThreadCount(ManagementFactory.getThreadMXBean().getThreadCount());
+
+		long gcCount = 0;
+		long gcTimeMs = 0;
+		for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			gcCount += Math.max(0, collector.getCollectionCount());
+			gcTimeMs += Math.max(0, collector.getCollectionTime());
+		}
+		snapshot.setGcCount(gcCount - lastGcCount);
+		snapshot.setGcTimeMs(gcTimeMs - lastGcTimeMs);
+		lastGcCount = gcCount;
+		lastGcTimeMs = gcTimeMs;
+
+		snapshot.setPoolActive(gauge("hikaricp.connections.active"));
+		snapshot.setPoolIdle(gauge("hikaricp.connections.idle"));
+		snapshot.setPoolWaiting(gauge("hikaricp.connections.pending"));
+
+		long requestCount = 0;
+		double p99Ms = 0;
+		for (final Timer timer : meterRegistry.find("http.server.requests").timers()) {
+			requestCount += timer.count();
+			// Percentiles are published when management.metrics.distribution.percentiles is set for the timer
+			for (final ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+				if (percentile.percentile() == 0.99) {
+					p99Ms = Math.max(p99Ms, percentile.value(TimeUnit.MILLISECONDS));
+				}
+			}
+		}
+		final long now = System.nanoTime();
+		if (lastSampleNanos != 0) {
+			final double seconds = (now - lastSampleNanos) / 1_000_000_000.0;
+			snapshot.setRequestRate(Math.max(0, requestCount - lastRequestCount) / seconds);
+		}
+		snapshot.setRequestP99Ms(p99Ms);
+		lastRequestCount = requestCount;
+		lastSampleNanos = now;
+		return snapshot;
+	}
+
+	private Integer gauge(final String name) {
+		final Gauge gauge = meterRegistry.find(name).gauge();
+		return gauge == null ? null : (int) gauge.value();
+	}
+
+	private static String hostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (final UnknownHostException e) {
+			return "unknown";
+		}
+	}
+}
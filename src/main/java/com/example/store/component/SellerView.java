@@ -0,0 +1,103 @@
+package com.example.store.component;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.example.store.pojo.SellerPojo;
+import com.example.store.pojo.StoreEvent;
+
+/**
+ * In-memory seller index built from the store event topic by
+ * {@link SellerViewMaterializer}: sellers by id, by store and by location
+ * (case-insensitive). Applying an event twice is harmless, which is what
+ * at-least-once delivery needs, and so is a seller event arriving before its
+ * store's, since the outbox relay does not guarantee commit order. Reads are only trusted once {@link #isReady()}
+ * says the initial replay has caught up; until then callers should go to the
+ * database.
+ */
+@Component
+public class SellerView {
+
+	private final Map<Long, SellerPojo> sellers = new ConcurrentHashMap<>();
+	private final Map<Long, Set<Long>> sellersByStore = new ConcurrentHashMap<>();
+	private final Map<String, Set<Long>> sellersByLocation = new ConcurrentHashMap<>();
+	private final Map<Long, Long> storeOfSeller = new ConcurrentHashMap<>();
+
+	private volatile boolean ready;
+
+	public void apply(final StoreEvent event) {
+		switch (event.getType()) {
+		case STORE_CREATED:
+			sellersByStore.computeIfAbsent(event.getStoreId(), id -> ConcurrentHashMap.newKeySet());
+			break;
+		case SELLER_CREATED:
+			putSeller(event.getStoreId(), new SellerPojo(event.getSellerId(), event.getName(), event.getLocation()));
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void putSeller(final Long storeId, final SellerPojo seller) {
+		final SellerPojo previous = sellers.put(seller.getId(), seller);
+		if (previous != null && !Objects.equals(locationKey(previous.getLocation()), locationKey(seller.getLocation()))) {
+			removeFrom(sellersByLocation, locationKey(previous.getLocation()), seller.getId());
+		}
+		final Long previousStore = storeOfSeller.put(seller.getId(), storeId);
+		if (previousStore != null && !previousStore.equals(storeId)) {
+			removeFrom(sellersByStore, previousStore, seller.getId());
+		}
+		sellersByStore.computeIfAbsent(storeId, id -> ConcurrentHashMap.newKeySet()).add(seller.getId());
+		sellersByLocation.computeIfAbsent(locationKey(seller.getLocation()), key -> ConcurrentHashMap.newKeySet())
+				.add(seller.getId());
+	}
+
+	public SellerPojo findSeller(final Long id) {
+		return sellers.get(id);
+	}
+
+	public List<SellerPojo> findSellersByStore(final Long storeId) {
+		return resolve(sellersByStore.getOrDefault(storeId, Collections.emptySet()));
+	}
+
+	public List<SellerPojo> findSellersByLocation(final String location) {
+		return resolve(sellersByLocation.getOrDefault(locationKey(location), Collections.emptySet()));
+	}
+
+	public int size() {
+		return sellers.size();
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	void markReady() {
+		ready = true;
+	}
+
+	private List<SellerPojo> resolve(final Set<Long> ids) {
+		return ids.stream().map(sellers::get).filter(Objects::nonNull).sorted(Comparator.comparing(SellerPojo::getId))
+				.collect(Collectors.toList());
+	}
+
+	private static <K> void removeFrom(final Map<K, Set<Long>> index, final K key, final Long id) {
+		final Set<Long> ids = index.get(key);
+		if (ids != null) {
+			ids.remove(id);
+		}
+	}
+
+	private static String locationKey(final String location) {
+		return location == null ? "" : location.trim().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,149 @@
+package com.example.store.component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import com.example.store.pojo.StoreEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds {@link SellerView} from the store event topic with a batch listener,
+ * one consumer thread per partition up to store.view.concurrency. Offsets are
+ * committed only after a batch has been applied, and redelivered events are
+ * dropped by the {@link EventDeduplicator}. Within a batch, events are
+ * applied on store.view.lanes {@link KeyOrderedExecutor} lanes keyed by store
+ * id: different stores are applied in parallel, and each store's events are
+ * applied in partition order because the producer keys them by store id.
+ * Partition order is not always commit order (see {@link OutboxRelay}), which
+ * {@link SellerView} tolerates.
+ *
+ * The view lives in memory, so every node consumes the whole topic in its own
+ * group, named after store.view.node-id (the host name by default), which has
+ * to be stable and unique per node. With store.view.replay (on by default) a
+ * partition this JVM has not seen yet is read from the beginning to rebuild
+ * the view; with it off the group's committed offsets are used. A partition
+ * that moves between this node's consumer threads always resumes from its
+ * committed offset. The end offset of each partition is captured when it is
+ * first assigned, and the view is marked ready once every partition of the
+ * topic has been consumed up to it.
+ *
+ * Registered on the container factory as its rebalance listener by
+ * {@link com.example.store.config.KafkaConfig}. Only starts when
+ * store.view.enabled is set.
+ */
+@Slf4j
+@Component
+public class SellerViewMaterializer implements ConsumerAwareRebalanceListener {
+
+	public static final String LISTENER_ID = "sellerView";
+
+	private final SellerView sellerView;
+	private final EventDeduplicator deduplicator;
+	private final KeyOrderedExecutor lanes;
+	private final Set<TopicPartition> seen = ConcurrentHashMap.newKeySet();
+	private final Set<TopicPartition> targeted = ConcurrentHashMap.newKeySet();
+	// End offset captured at first assignment, removed once consumed up to it
+	private final Map<TopicPartition, Long> catchUpTargets = new ConcurrentHashMap<>();
+
+	@Value("${store.outbox.topic:javami-store-events}")
+	private String topic;
+
+	@Value("${store.view.replay:true}")
+	private boolean replay;
+
+	private volatile int partitionCount = -1;
+
+	public SellerViewMaterializer(final SellerView sellerView, final EventDeduplicator deduplicator,
+			@Value("${store.view.lanes:4}") final int laneCount) {
+		this.sellerView = sellerView;
+		this.deduplicator = deduplicator;
+		this.lanes = new KeyOrderedExecutor("seller-view", laneCount);
+	}
+
+	@KafkaListener(id = LISTENER_ID, topics = "${store.outbox.topic:javami-store-events}",
+			groupId = "${spring.kafka.consumer.group-id}-view-${store.view.node-id:${HOSTNAME:localhost}}",
+			containerFactory = "storeEventListenerContainerFactory", concurrency = "${store.view.concurrency:3}",
+			autoStartup = "${store.view.enabled:false}")
+	public void onEvents(final List<ConsumerRecord<String, StoreEvent>> records, final Acknowledgment acknowledgment) {
+		final List<ConsumerRecord<String, StoreEvent>> readable = new ArrayList<>(records.size());
+		for (final ConsumerRecord<String, StoreEvent> record : records) {
+			if (record.value() == null) {
+				// ErrorHandlingDeserializer hands over undecodable records as null
+				log.warn("Skipping unreadable store event at {}-{}@{}", record.topic(), record.partition(),
+						record.offset());
+				continue;
+			}
+			readable.add(record);
+		}
+		final List<ConsumerRecord<String, StoreEvent>> candidates = deduplicator.filter(readable);
+		final List<CompletableFuture<Void>> applied = new ArrayList<>(candidates.size());
+		for (final ConsumerRecord<String, StoreEvent> record : candidates) {
+			final StoreEvent event = record.value();
+			applied.add(lanes.submit(event.getStoreId(), () -> sellerView.apply(event)));
+		}
+		CompletableFuture.allOf(applied.toArray(new CompletableFuture<?>[0])).join();
+		// Only now: if applying failed, the redelivered batch must not be taken for duplicates
+		deduplicator.markApplied(candidates);
+		acknowledgment.acknowledge();
+		for (final ConsumerRecord<String, StoreEvent> record : records) {
+			final TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+			catchUpTargets.computeIfPresent(partition, (tp, end) -> record.offset() + 1 >= end ? null : end);
+		}
+		markReadyIfCaughtUp();
+	}
+
+	@Override
+	public void onPartitionsAssigned(final Consumer<?, ?> consumer, final Collection<TopicPartition> partitions) {
+		final List<TopicPartition> unseen = partitions.stream().filter(seen::add).collect(Collectors.toList());
+		if (unseen.isEmpty()) {
+			return;
+		}
+		if (replay) {
+			consumer.seekToBeginning(unseen);
+		}
+		if (partitionCount < 0) {
+			partitionCount = consumer.partitionsFor(topic).size();
+		}
+		final Map<TopicPartition, Long> endOffsets = consumer.endOffsets(unseen);
+		for (final TopicPartition partition : unseen) {
+			final long end = endOffsets.get(partition);
+			if (consumer.position(partition) < end) {
+				catchUpTargets.put(partition, end);
+			}
+		}
+		targeted.addAll(unseen);
+		markReadyIfCaughtUp();
+	}
+
+	// Every partition of the topic needs a target first, or an early thread could declare the view ready alone
+	private void markReadyIfCaughtUp() {
+		if (!sellerView.isReady() && targeted.size() >= partitionCount && partitionCount >= 0
+				&& catchUpTargets.isEmpty()) {
+			sellerView.markReady();
+			log.info("Seller view caught up with {} sellers", sellerView.size());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		lanes.close();
+	}
+}
@@ -0,0 +1,49 @@
+package com.example.store.component;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MySQL has no sequences, so Hibernate emulates store_seq, seller_seq and
+ * enquiry_seq with single-row tables that start at 1. Rows written while the
+ * ids were IDENTITY-generated would collide with that, so on startup each
+ * sequence is moved past the current max id before the first insert.
+ * Relies on the pooled-lo optimizer, where next_val is the first id of the
+ * next block.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenceTableAligner {
+
+	private static final String[][] SEQUENCES = { { "store_seq", "store" }, { "seller_seq", "seller" },
+			{ "enquiry_seq", "enquiry" } };
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public SequenceTableAligner(final JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@PostConstruct
+	public void align() {
+		for (final String[] sequence : SEQUENCES) {
+			try {
+				final int updated = jdbcTemplate.update("UPDATE " + sequence[0]
+						+ " SET next_val = (SELECT COALESCE(MAX(id), 0) + 1 FROM " + sequence[1]
+						+ ") WHERE next_val <= (SELECT COALESCE(MAX(id), 0) FROM " + sequence[1] + ")");
+				if (updated > 0) {
+					log.info("Moved {} past the existing ids in {}", sequence[0], sequence[1]);
+				}
+			} catch (final DataAccessException e) {
+				log.warn("Could not align {} with {}", sequence[0], sequence[1], e);
+			}
+		}
+	}
+}
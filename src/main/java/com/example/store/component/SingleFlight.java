@@ -0,0 +1,81 @@
+package com.example.store.component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Collapses concurrent loads of the same key into one call. The first caller
+ * runs the loader; callers arriving while it is in flight wait for its result
+ * instead of issuing their own.
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+
+	private final String name;
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder collapsed = new LongAdder();
+
+	public SingleFlight(final String name) {
+		this.name = name;
+	}
+
+	public V execute(final K key, final Supplier<V> loader) {
+		calls.increment();
+		final CompletableFuture<V> future = new CompletableFuture<>();
+		final CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+		if (existing != null) {
+			collapsed.increment();
+			return await(existing);
+		}
+		try {
+			final V value = loader.get();
+			future.complete(value);
+			return value;
+		} catch (final RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, future);
+		}
+	}
+
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	public long getCollapsed() {
+		return collapsed.sum();
+	}
+
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		FunctionCounter.builder("singleflight.calls", calls, LongAdder::sum).tag("name", name)
+				.description("Loads requested through the single-flight layer").register(registry);
+		FunctionCounter.builder("singleflight.collapsed", collapsed, LongAdder::sum).tag("name", name)
+				.description("Loads that joined a call already in flight").register(registry);
+	}
+
+	private V await(final CompletableFuture<V> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			// Rethrow what the loader threw so joined callers see the same exception as the leader
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+}
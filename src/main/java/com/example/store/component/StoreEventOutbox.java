@@ -0,0 +1,46 @@
+package com.example.store.component;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.store.entity.OutboxEvent;
+import com.example.store.pojo.StoreEvent;
+import com.example.store.repo.OutboxEventRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Records a {@link StoreEvent} in the outbox table. Must run inside the
+ * transaction that writes the change, so the event commits or rolls back
+ * with it; {@link OutboxRelay} publishes it afterwards.
+ */
+@Component
+public class StoreEventOutbox {
+
+	private final OutboxEventRepo outboxEventRepository;
+	private final ObjectMapper objectMapper;
+
+	public StoreEventOutbox(final OutboxEventRepo outboxEventRepository, final ObjectMapper objectMapper) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(final StoreEvent event) {
+		final OutboxEvent outboxEvent = new OutboxEvent();
+		outboxEvent.setAggregateId(event.getStoreId());
+		outboxEvent.setType(event.getType().name());
+		outboxEvent.setCreatedAt(LocalDateTime.now());
+		// Complete before save so the row is written by a single (batched) insert at flush; the payload
+		// has no eventId, OutboxRelay copies the row id into the event when it publishes
+		try {
+			outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+		} catch (final JsonProcessingException e) {
+			throw new IllegalArgumentException("Cannot serialize event " + event, e);
+		}
+		outboxEventRepository.save(outboxEvent);
+	}
+}
@@ -1,5 +1,6 @@
 package com.example.store.config;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import org.springframework.batch.core.Job;
@@ -12,13 +13,20 @@ import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import com.example.store.component.ApplicationStatusRollup;
 import com.example.store.component.ApplicationStatusScheduler;
-import com.example.store.entity.ApplicationStatus;
+import com.example.store.component.ClusterLock;
+import com.example.store.component.RuntimeSnapshotCollector;
+import com.example.store.entity.ApplicationStatus.Granularity;
 import com.example.store.repo.ApplicationStatusRepo;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableBatchProcessing
 public class BatchConfiguration {
@@ -35,31 +43,59 @@ public class BatchConfiguration {
 	@Autowired
 	private ApplicationStatusRepo applicationStatusRepository;
 
+	@Autowired
+	private RuntimeSnapshotCollector runtimeSnapshotCollector;
+
+	@Autowired
+	private ApplicationStatusRollup applicationStatusRollup;
+
+	@Value("${store.status.minute-retention:1d}")
+	private Duration minuteRetention;
+
+	@Value("${store.status.hour-retention:30d}")
+	private Duration hourRetention;
+
+	@Value("${store.batch.grid-size:4}")
+	private int gridSize;
+
+	@Value("${store.batch.threads:4}")
+	private int partitionThreads;
+
 	@Bean
-	public Job applicationStatusJob() {
-		return jobBuilderFactory.get("applicationStatusJob").incrementer(new RunIdIncrementer())
-				.start(applicationStatusStep()).build();
+	public Job applicationStatusRollupJob() {
+		return jobBuilderFactory.get("applicationStatusRollupJob").incrementer(new RunIdIncrementer())
+				.start(applicationStatusRollupStep()).build();
 	}
 
 	@Bean
-	public Step applicationStatusStep() {
-		return stepBuilderFactory.get("applicationStatusStep").tasklet(applicationStatusTasklet()).build();
+	public Step applicationStatusRollupStep() {
+		return stepBuilderFactory.get("applicationStatusRollupStep").tasklet(applicationStatusRollupTasklet())
+				.build();
 	}
 
+	// One bucket per transaction; CONTINUABLE keeps each commit small when a backlog has built up
 	@Bean
-	public Tasklet applicationStatusTasklet() {
+	public Tasklet applicationStatusRollupTasklet() {
 		return (contribution, chunkContext) -> {
-			final String status = "Sample Status"; // Example status message
-			final ApplicationStatus applicationStatus = new ApplicationStatus();
-			applicationStatus.setTime(LocalDateTime.now());
-			applicationStatus.setStatus(status);
-			applicationStatusRepository.save(applicationStatus);
-			return RepeatStatus.FINISHED;
+			final LocalDateTime now = LocalDateTime.now();
+			final boolean rolledUp = applicationStatusRollup.rollupOldestBucket(Granularity.MINUTE, Granularity.HOUR,
+					now.minus(minuteRetention))
+					|| applicationStatusRollup.rollupOldestBucket(Granularity.HOUR, Granularity.DAY,
+							now.minus(hourRetention));
+			return RepeatStatus.continueIf(rolledUp);
 		};
 	}
 
 	@Bean
-	public ApplicationStatusScheduler applicationStatusScheduler() {
-		return new ApplicationStatusScheduler(jobLauncher, applicationStatusJob());
+	public PartitionedStepFactory partitionedStepFactory(final JdbcTemplate jdbcTemplate,
+			final MeterRegistry meterRegistry) {
+		return new PartitionedStepFactory(stepBuilderFactory, jdbcTemplate, meterRegistry, gridSize,
+				partitionThreads);
+	}
+
+	@Bean
+	public ApplicationStatusScheduler applicationStatusScheduler(final ClusterLock clusterLock) {
+		return new ApplicationStatusScheduler(jobLauncher, clusterLock, applicationStatusRepository,
+				runtimeSnapshotCollector, applicationStatusRollupJob());
 	}
 }
@@ -0,0 +1,26 @@
+package com.example.store.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.store.component.SingleFlight;
+import com.example.store.pojo.SellerPojo;
+
+/**
+ * In-process caches. Size and TTL come from spring.cache.caffeine.spec; the
+ * spec enables recordStats so hit/miss/eviction counters are published under
+ * the cache.* metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String SELLER_CACHE = "sellers";
+
+	// Registered as a MeterBinder, so the singleflight.* counters show up with the other metrics
+	@Bean
+	public SingleFlight<Long, SellerPojo> sellerLoads() {
+		return new SingleFlight<>("seller");
+	}
+}
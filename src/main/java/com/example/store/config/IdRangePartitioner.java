@@ -0,0 +1,53 @@
+package com.example.store.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Splits a table into contiguous id ranges, one per partition. Each partition
+ * gets "minId" and "maxId" in its step execution context; workers read them
+ * with {@code #{stepExecutionContext['minId']}}.
+ */
+public class IdRangePartitioner implements Partitioner {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String table;
+	private final String idColumn;
+
+	public IdRangePartitioner(final JdbcTemplate jdbcTemplate, final String table, final String idColumn) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.table = table;
+		this.idColumn = idColumn;
+	}
+
+	@Override
+	public Map<String, ExecutionContext> partition(final int gridSize) {
+		final Map<String, Object> bounds = jdbcTemplate
+				.queryForMap("SELECT MIN(" + idColumn + ") AS min_id, MAX(" + idColumn + ") AS max_id FROM " + table);
+		final Map<String, ExecutionContext> partitions = new HashMap<>();
+		if (bounds.get("min_id") == null) {
+			// Empty table: one empty range keeps the step shape the same on every run
+			partitions.put("partition0", range(1, 0));
+			return partitions;
+		}
+		final long minId = ((Number) bounds.get("min_id")).longValue();
+		final long maxId = ((Number) bounds.get("max_id")).longValue();
+		final long rangeSize = Math.max(1, (maxId - minId) / Math.max(1, gridSize) + 1);
+		int number = 0;
+		for (long start = minId; start <= maxId; start += rangeSize) {
+			partitions.put("partition" + number++, range(start, Math.min(start + rangeSize - 1, maxId)));
+		}
+		return partitions;
+	}
+
+	private static ExecutionContext range(final long minId, final long maxId) {
+		final ExecutionContext context = new ExecutionContext();
+		context.putLong("minId", minId);
+		context.putLong("maxId", maxId);
+		return context;
+	}
+}
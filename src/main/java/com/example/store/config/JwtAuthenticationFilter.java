@@ -0,0 +1,52 @@
+package com.example.store.config;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Authenticates "Authorization: Bearer" requests from the token alone: the
+ * signature and expiry are checked and the principal, id and roles come from
+ * the claims, so no user is loaded from the database. A missing or invalid
+ * token leaves the request anonymous.
+ *
+ * Added to the security chain by {@link SecurityConfig}; deliberately not a
+ * bean, which Boot would also register as a servlet filter.
+ */
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+	private static final String BEARER = "Bearer ";
+
+	private final JwtUtil jwtUtil;
+
+	public JwtAuthenticationFilter(final JwtUtil jwtUtil) {
+		this.jwtUtil = jwtUtil;
+	}
+
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (header != null && header.startsWith(BEARER)) {
+			try {
+				SecurityContextHolder.getContext()
+						.setAuthentication(jwtUtil.getAuthentication(header.substring(BEARER.length())));
+			} catch (final JwtException | IllegalArgumentException e) {
+				SecurityContextHolder.clearContext();
+				log.debug("Rejected JWT for {}: {}", request.getRequestURI(), e.getMessage());
+			}
+		}
+		filterChain.doFilter(request, response);
+	}
+}
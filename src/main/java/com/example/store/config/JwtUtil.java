@@ -1,28 +1,83 @@
 package com.example.store.config;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.example.store.pojo.AuthUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 
+/**
+ * Issues and verifies the HS256 tokens. Verification uses one pre-built
+ * parser, and verified claims are cached by SHA-256 digest of the token until
+ * the token's own expiry, so a client repeating the same token pays for the
+ * signature check and JSON parsing once. The digest keeps raw tokens out of
+ * the cache keys; at most jwt.claims-cache-size entries are kept.
+ */
 @Component
 public class JwtUtil {
 
-	private final SecretKey SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+	static final String USER_ID_CLAIM = "uid";
+	static final String ROLES_CLAIM = "roles";
+
+	private final SecretKey SECRET_KEY;
+	private final JwtParser parser;
+	private final Cache<String, Claims> verifiedClaims;
+
+	// Without jwt.secret every node signs with its own random key and tokens only work on the node that issued them
+	@Autowired
+	public JwtUtil(@Value("${jwt.secret:}") final String secret,
+			@Value("${jwt.claims-cache-size:10000}") final long claimsCacheSize) {
+		this(secret, claimsCacheSize, Ticker.systemTicker());
+	}
+
+	// The ticker drives the cache expiry, so tests can move past a token's expiry without waiting
+	JwtUtil(final String secret, final long claimsCacheSize, final Ticker ticker) {
+		SECRET_KEY = secret.isEmpty() ? Keys.secretKeyFor(SignatureAlgorithm.HS256)
+				: Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+		// Immutable and thread-safe once built
+		parser = Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
+		verifiedClaims = Caffeine.newBuilder().maximumSize(claimsCacheSize).expireAfter(new UntilTokenExpiry())
+				.ticker(ticker).build();
+	}
 
 	public String generateToken(final Authentication authentication) {
 		final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 		final Map<String, Object> claims = new HashMap<>();
+		if (userDetails instanceof AuthUser) {
+			claims.put(USER_ID_CLAIM, ((AuthUser) userDetails).getId());
+		}
+		claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toList()));
 		return createToken(claims, userDetails.getUsername());
 	}
 
@@ -32,24 +87,89 @@ public class JwtUtil {
 				.compact();
 	}
 
+	/**
+	 * Builds the authentication from the verified claims alone, without
+	 * loading the user. Throws a JwtException when the signature is invalid
+	 * or the token has expired.
+	 */
+	public Authentication getAuthentication(final String token) {
+		final Claims claims = extractAllClaims(token);
+		final Number userId = claims.get(USER_ID_CLAIM, Number.class);
+		final Collection<? extends GrantedAuthority> authorities = roles(claims).stream()
+				.map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+		final AuthUser principal = new AuthUser(userId == null ? null : userId.longValue(), claims.getSubject(), "",
+				authorities);
+		return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+	}
+
+	private static List<String> roles(final Claims claims) {
+		final Object roles = claims.get(ROLES_CLAIM);
+		if (!(roles instanceof Collection)) {
+			return Collections.emptyList();
+		}
+		return ((Collection<?>) roles).stream().map(String::valueOf).collect(Collectors.toList());
+	}
+
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = extractUsername(token);
-		return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+		final Claims claims = extractAllClaims(token);
+		return (claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
 	}
 
 	public String extractUsername(final String token) {
 		return extractAllClaims(token).getSubject();
 	}
 
+	// Cached claims are only ever read, never modified
 	private Claims extractAllClaims(final String token) {
-		return Jwts.parserBuilder().setSigningKey(SECRET_KEY).build().parseClaimsJws(token).getBody();
+		final String digest = digest(token);
+		final Claims cached = verifiedClaims.getIfPresent(digest);
+		if (cached != null) {
+			return cached;
+		}
+		final Claims claims = parseClaims(token);
+		verifiedClaims.put(digest, claims);
+		return claims;
+	}
+
+	// Signature and expiry check without the cache
+	Claims parseClaims(final String token) {
+		return parser.parseClaimsJws(token).getBody();
 	}
 
-	private Boolean isTokenExpired(final String token) {
-		return extractExpiration(token).before(new Date());
+	private static String digest(final String token) {
+		try {
+			final byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(hash);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
 	}
 
 	public Date extractExpiration(final String token) {
 		return extractAllClaims(token).getExpiration();
 	}
+
+	private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+		@Override
+		public long expireAfterCreate(final String digest, final Claims claims, final long currentTime) {
+			final Date expiration = claims.getExpiration();
+			if (expiration == null) {
+				return 0;
+			}
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+		}
+
+		@Override
+		public long expireAfterUpdate(final String digest, final Claims claims, final long currentTime,
+				final long currentDuration) {
+			return currentDuration;
+		}
+
+		@Override
+		public long expireAfterRead(final String digest, final Claims claims, final long currentTime,
+				final long currentDuration) {
+			return currentDuration;
+		}
+	}
 }
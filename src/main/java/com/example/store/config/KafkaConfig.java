@@ -0,0 +1,65 @@
+package com.example.store.config;
+
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+import com.example.store.component.SellerViewMaterializer;
+import com.example.store.pojo.StoreEvent;
+
+/**
+ * Kafka templates and the binary store event listener factory. Boot backs off its own producer factory and
+ * template as soon as any is declared, so the String template used for text
+ * messages is declared here next to the binary {@link StoreEvent} one. Both
+ * share the spring.kafka.producer settings; only the value serializer
+ * differs. Boot's String listener factory is left in place for the other
+ * listeners.
+ */
+@Configuration
+public class KafkaConfig {
+
+	@Bean
+	public ProducerFactory<String, String> kafkaProducerFactory(final KafkaProperties kafkaProperties) {
+		return new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties());
+	}
+
+	@Bean
+	public KafkaTemplate<String, String> kafkaTemplate(final ProducerFactory<String, String> kafkaProducerFactory) {
+		return new KafkaTemplate<>(kafkaProducerFactory);
+	}
+
+	@Bean
+	public ProducerFactory<String, StoreEvent> storeEventProducerFactory(final KafkaProperties kafkaProperties) {
+		return new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties(), new StringSerializer(),
+				new StoreEventSerializer());
+	}
+
+	@Bean
+	public KafkaTemplate<String, StoreEvent> storeEventKafkaTemplate(
+			final ProducerFactory<String, StoreEvent> storeEventProducerFactory) {
+		return new KafkaTemplate<>(storeEventProducerFactory);
+	}
+
+	// Batch listener, manual acks after each applied batch, the materializer told of assignments to track its replay
+	@Bean
+	public ConcurrentKafkaListenerContainerFactory<String, StoreEvent> storeEventListenerContainerFactory(
+			final KafkaProperties kafkaProperties, final SellerViewMaterializer sellerViewMaterializer) {
+		final ConcurrentKafkaListenerContainerFactory<String, StoreEvent> factory =
+				new ConcurrentKafkaListenerContainerFactory<>();
+		factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(kafkaProperties.buildConsumerProperties(),
+				new StringDeserializer(), new ErrorHandlingDeserializer<>(new StoreEventDeserializer())));
+		factory.setBatchListener(true);
+		factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+		factory.getContainerProperties().setConsumerRebalanceListener(sellerViewMaterializer);
+		return factory;
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.store.config;
+
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.store.component.PartitionTimingListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wraps a worker step in a manager step that splits a table into id ranges
+ * (see {@link IdRangePartitioner}) and runs the partitions on a bounded
+ * executor. Each partition is its own step execution, so a restart only
+ * re-runs the partitions that did not complete.
+ */
+public class PartitionedStepFactory {
+
+	private final StepBuilderFactory stepBuilderFactory;
+	private final JdbcTemplate jdbcTemplate;
+	private final MeterRegistry meterRegistry;
+	private final int gridSize;
+	private final int threads;
+
+	public PartitionedStepFactory(final StepBuilderFactory stepBuilderFactory, final JdbcTemplate jdbcTemplate,
+			final MeterRegistry meterRegistry, final int gridSize, final int threads) {
+		this.stepBuilderFactory = stepBuilderFactory;
+		this.jdbcTemplate = jdbcTemplate;
+		this.meterRegistry = meterRegistry;
+		this.gridSize = gridSize;
+		this.threads = threads;
+	}
+
+	/**
+	 * Worker steps should be built with {@link #timingListener()} so every
+	 * partition reports its own timing.
+	 */
+	public Step partitionById(final String name, final Step workerStep, final String table) {
+		final SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor(name + "-");
+		taskExecutor.setConcurrencyLimit(threads);
+		return stepBuilderFactory.get(name)
+				.partitioner(workerStep.getName(), new IdRangePartitioner(jdbcTemplate, table, "id")).step(workerStep)
+				.gridSize(gridSize).taskExecutor(taskExecutor).build();
+	}
+
+	public PartitionTimingListener timingListener() {
+		return new PartitionTimingListener(meterRegistry);
+	}
+}
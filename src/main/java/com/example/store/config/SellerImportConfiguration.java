@@ -0,0 +1,148 @@
+package com.example.store.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.step.builder.FaultTolerantStepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JpaItemWriter;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.support.SynchronizedItemStreamReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.util.StringUtils;
+
+import com.example.store.entity.Seller;
+import com.example.store.pojo.SellerCsvRow;
+import com.example.store.repo.StoreRepository;
+
+/**
+ * Chunk-oriented import of seller CSV files (storeId,name,location with a
+ * header line). The file is read as a stream, each chunk is written with one
+ * batched insert in its own transaction, and the reader position is saved with
+ * every commit so a failed run restarts after the last committed chunk.
+ */
+@Configuration
+public class SellerImportConfiguration {
+
+	@Autowired
+	private JobBuilderFactory jobBuilderFactory;
+
+	@Autowired
+	private StepBuilderFactory stepBuilderFactory;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private StoreRepository storeRepo;
+
+	@Value("${store.import.chunk-size:1000}")
+	private int chunkSize;
+
+	@Value("${store.import.skip-limit:100}")
+	private int skipLimit;
+
+	@Value("${store.import.retry-limit:3}")
+	private int retryLimit;
+
+	// More than one thread trades restartability for throughput, see sellerCsvReader
+	@Value("${store.import.threads:1}")
+	private int threads;
+
+	@Bean
+	public Job sellerImportJob() {
+		return jobBuilderFactory.get("sellerImportJob").start(sellerImportStep()).build();
+	}
+
+	@Bean
+	public Step sellerImportStep() {
+		final FaultTolerantStepBuilder<SellerCsvRow, Seller> builder = stepBuilderFactory.get("sellerImportStep")
+				.<SellerCsvRow, Seller>chunk(chunkSize).reader(sellerCsvReader(null)).processor(sellerCsvProcessor())
+				.writer(sellerWriter()).faultTolerant().skipLimit(skipLimit).skip(FlatFileParseException.class)
+				.skip(IllegalArgumentException.class).skip(DataIntegrityViolationException.class)
+				.retryLimit(retryLimit).retry(TransientDataAccessException.class);
+		if (threads > 1) {
+			final SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("seller-import-");
+			taskExecutor.setConcurrencyLimit(threads);
+			builder.taskExecutor(taskExecutor).throttleLimit(threads);
+		}
+		return builder.build();
+	}
+
+	@Bean
+	@StepScope
+	public SynchronizedItemStreamReader<SellerCsvRow> sellerCsvReader(
+			@Value("#{jobParameters['input.file']}") final String inputFile) {
+		// The reader position is only meaningful when one thread reads, so concurrent runs do not save it
+		final FlatFileItemReader<SellerCsvRow> reader = new FlatFileItemReaderBuilder<SellerCsvRow>()
+				.name("sellerCsvReader").resource(new FileSystemResource(inputFile)).linesToSkip(1).delimited()
+				.names("storeId", "name", "location").targetType(SellerCsvRow.class).saveState(threads <= 1)
+				.build();
+		final SynchronizedItemStreamReader<SellerCsvRow> synchronizedReader = new SynchronizedItemStreamReader<>();
+		synchronizedReader.setDelegate(reader);
+		return synchronizedReader;
+	}
+
+	@Bean
+	@StepScope
+	public ItemProcessor<SellerCsvRow, Seller> sellerCsvProcessor() {
+		final Map<Long, Boolean> knownStores = new ConcurrentHashMap<>();
+		return row -> {
+			if (row.getStoreId() == null || !StringUtils.hasText(row.getName())) {
+				throw new IllegalArgumentException("Store id and seller name are required: " + row);
+			}
+			if (!knownStores.computeIfAbsent(row.getStoreId(), storeRepo::existsById)) {
+				throw new IllegalArgumentException("Store not found with id: " + row.getStoreId());
+			}
+			final Seller seller = new Seller();
+			seller.setName(row.getName().trim());
+			seller.setLocation(row.getLocation());
+			seller.setStore(storeRepo.getOne(row.getStoreId()));
+			return seller;
+		};
+	}
+
+	// JpaItemWriter lets Hibernate's PersistenceException through; translated, a bad row matches the skip
+	// and retry rules above
+	@Bean
+	public ItemWriter<Seller> sellerWriter() {
+		final JpaItemWriter<Seller> jpaWriter = sellerJpaWriter();
+		final PersistenceExceptionTranslator translator = new HibernateJpaDialect();
+		return items -> {
+			try {
+				jpaWriter.write(items);
+			} catch (final RuntimeException e) {
+				throw DataAccessUtils.translateIfNecessary(e, translator);
+			}
+		};
+	}
+
+	@Bean
+	public JpaItemWriter<Seller> sellerJpaWriter() {
+		final JpaItemWriter<Seller> writer = new JpaItemWriter<>();
+		writer.setEntityManagerFactory(entityManagerFactory);
+		// persist instead of merge: new rows need no select and go out as one JDBC batch
+		writer.setUsePersist(true);
+		return writer;
+	}
+}
@@ -0,0 +1,102 @@
+package com.example.store.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.store.pojo.SellerPojo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Partitioned, read-only audit of seller names and locations: rows with
+ * leading, trailing or repeated whitespace are reported, nothing is changed.
+ * The seller table is split into id ranges by {@link PartitionedStepFactory}
+ * and each range is read on its own thread. Fixing a row should go through
+ * the service so the outbox and caches see the change.
+ */
+@Slf4j
+@Configuration
+public class SellerMaintenanceConfiguration {
+
+	@Autowired
+	private JobBuilderFactory jobBuilderFactory;
+
+	@Autowired
+	private StepBuilderFactory stepBuilderFactory;
+
+	@Autowired
+	private PartitionedStepFactory partitionedStepFactory;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Value("${store.batch.chunk-size:1000}")
+	private int chunkSize;
+
+	@Bean
+	public Job sellerAuditJob() {
+		return jobBuilderFactory.get("sellerAuditJob").incrementer(new RunIdIncrementer())
+				.start(partitionedStepFactory.partitionById("sellerAuditStep", sellerAuditWorkerStep(), "seller"))
+				.build();
+	}
+
+	// The step's write count is the number of sellers flagged in its range
+	@Bean
+	public Step sellerAuditWorkerStep() {
+		return stepBuilderFactory.get("sellerAuditWorkerStep").<SellerPojo, SellerPojo>chunk(chunkSize)
+				.reader(sellerRangeReader(null, null)).processor(sellerAuditProcessor()).writer(sellerAuditWriter())
+				.listener(partitionedStepFactory.timingListener()).build();
+	}
+
+	@Bean
+	@StepScope
+	public JdbcPagingItemReader<SellerPojo> sellerRangeReader(
+			@Value("#{stepExecutionContext['minId']}") final Long minId,
+			@Value("#{stepExecutionContext['maxId']}") final Long maxId) {
+		return new JdbcPagingItemReaderBuilder<SellerPojo>().name("sellerRangeReader").dataSource(dataSource)
+				.selectClause("SELECT id, name, location").fromClause("FROM seller")
+				.whereClause("WHERE id BETWEEN :minId AND :maxId")
+				.parameterValues(Map.of("minId", minId, "maxId", maxId))
+				.sortKeys(Collections.singletonMap("id", Order.ASCENDING)).pageSize(chunkSize)
+				.rowMapper((rs, rowNum) -> new SellerPojo(rs.getLong("id"), rs.getString("name"),
+						rs.getString("location")))
+				.build();
+	}
+
+	@Bean
+	public ItemProcessor<SellerPojo, SellerPojo> sellerAuditProcessor() {
+		// Clean rows are filtered out and never reach the writer
+		return seller -> Objects.equals(normalize(seller.getName()), seller.getName())
+				&& Objects.equals(normalize(seller.getLocation()), seller.getLocation()) ? null : seller;
+	}
+
+	@Bean
+	public ItemWriter<SellerPojo> sellerAuditWriter() {
+		return sellers -> sellers
+				.forEach(seller -> log.info("Seller {} has untrimmed name or location: '{}', '{}'", seller.getId(),
+						seller.getName(), seller.getLocation()));
+	}
+
+	private static String normalize(final String value) {
+		return value == null ? null : value.trim().replaceAll("\\s+", " ");
+	}
+}
@@ -0,0 +1,164 @@
+package com.example.store.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.example.store.pojo.StoreEvent;
+
+/**
+ * Compact binary form of {@link StoreEvent} used on Kafka.
+ *
+ * <pre>
+ * version    1 byte, currently 1
+ * type       1 byte, StoreEvent.Type ordinal
+ * eventId    varint, value + 1 (0 = null)
+ * storeId    varint, value + 1 (0 = null)
+ * sellerId   varint, value + 1 (0 = null)
+ * name       varint length + 1 (0 = null), then UTF-8 bytes
+ * location   varint length + 1 (0 = null), then UTF-8 bytes
+ * occurredAt varint, epoch millis
+ * </pre>
+ *
+ * Varints are unsigned LEB128: 7 bits per byte, low groups first. A new
+ * field means a new version byte; readers reject versions they do not know
+ * rather than misreading them.
+ */
+public final class StoreEventCodec {
+
+	public static final byte VERSION = 1;
+
+	private static final StoreEvent.Type[] TYPES = StoreEvent.Type.values();
+
+	private StoreEventCodec() {
+	}
+
+	public static byte[] encode(final StoreEvent event) {
+		final Writer writer = new Writer(64);
+		writer.writeByte(VERSION);
+		writer.writeByte(event.getType().ordinal());
+		writer.writeNullableLong(event.getEventId());
+		writer.writeNullableLong(event.getStoreId());
+		writer.writeNullableLong(event.getSellerId());
+		writer.writeString(event.getName());
+		writer.writeString(event.getLocation());
+		writer.writeVarLong(event.getOccurredAt());
+		return writer.toByteArray();
+	}
+
+	public static StoreEvent decode(final byte[] data) {
+		final Reader reader = new Reader(data);
+		final int version = reader.readByte();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported store event version: " + version);
+		}
+		final int type = reader.readByte();
+		if (type >= TYPES.length) {
+			throw new IllegalArgumentException("Unknown store event type: " + type);
+		}
+		final StoreEvent event = new StoreEvent();
+		event.setType(TYPES[type]);
+		event.setEventId(reader.readNullableLong());
+		event.setStoreId(reader.readNullableLong());
+		event.setSellerId(reader.readNullableLong());
+		event.setName(reader.readString());
+		event.setLocation(reader.readString());
+		event.setOccurredAt(reader.readVarLong());
+		return event;
+	}
+
+	private static final class Writer {
+		private byte[] buffer;
+		private int position;
+
+		Writer(final int capacity) {
+			buffer = new byte[capacity];
+		}
+
+		void writeByte(final int value) {
+			ensure(1);
+			buffer[position++] = (byte) value;
+		}
+
+		void writeVarLong(long value) {
+			ensure(10);
+			while ((value & ~0x7FL) != 0) {
+				buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		void writeNullableLong(final Long value) {
+			writeVarLong(value == null ? 0 : value + 1);
+		}
+
+		void writeString(final String value) {
+			if (value == null) {
+				writeVarLong(0);
+				return;
+			}
+			final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarLong(bytes.length + 1L);
+			ensure(bytes.length);
+			System.arraycopy(bytes, 0, buffer, position, bytes.length);
+			position += bytes.length;
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buffer, position);
+		}
+
+		private void ensure(final int extra) {
+			if (position + extra > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+			}
+		}
+	}
+
+	private static final class Reader {
+		private final byte[] data;
+		private int position;
+
+		Reader(final byte[] data) {
+			this.data = data;
+		}
+
+		int readByte() {
+			if (position >= data.length) {
+				throw new IllegalArgumentException("Truncated store event");
+			}
+			return data[position++] & 0xFF;
+		}
+
+		long readVarLong() {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				final int b = readByte();
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("Malformed varint in store event");
+		}
+
+		Long readNullableLong() {
+			final long value = readVarLong();
+			return value == 0 ? null : value - 1;
+		}
+
+		String readString() {
+			final long length = readVarLong();
+			if (length == 0) {
+				return null;
+			}
+			final int size = (int) (length - 1);
+			if (size < 0 || size > data.length - position) {
+				throw new IllegalArgumentException("Truncated store event");
+			}
+			final String value = new String(data, position, size, StandardCharsets.UTF_8);
+			position += size;
+			return value;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.example.store.config;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import com.example.store.pojo.StoreEvent;
+
+public class StoreEventDeserializer implements Deserializer<StoreEvent> {
+
+	@Override
+	public StoreEvent deserialize(final String topic, final byte[] data) {
+		if (data == null) {
+			return null;
+		}
+		try {
+			return StoreEventCodec.decode(data);
+		} catch (final IllegalArgumentException e) {
+			throw new SerializationException("Cannot decode store event from " + topic, e);
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package com.example.store.config;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import com.example.store.pojo.StoreEvent;
+
+public class StoreEventSerializer implements Serializer<StoreEvent> {
+
+	@Override
+	public byte[] serialize(final String topic, final StoreEvent event) {
+		return event == null ? null : StoreEventCodec.encode(event);
+	}
+}
@@ -0,0 +1,114 @@
+package com.example.store.controller;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.support.SimpleJobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/batch")
+public class BatchController {
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private JobExplorer jobExplorer;
+
+	@Autowired
+	@Qualifier("sellerImportJob")
+	private Job sellerImportJob;
+
+	@Autowired
+	@Qualifier("sellerAuditJob")
+	private Job sellerAuditJob;
+
+	@Value("${store.import.dir:imports}")
+	private String importDir;
+
+	private SimpleJobLauncher asyncJobLauncher;
+
+	@PostConstruct
+	public void init() throws Exception {
+		// Imports run for minutes, so they are launched off the request thread
+		asyncJobLauncher = new SimpleJobLauncher();
+		asyncJobLauncher.setJobRepository(jobRepository);
+		asyncJobLauncher.setTaskExecutor(new SimpleAsyncTaskExecutor("batch-launch-"));
+		asyncJobLauncher.afterPropertiesSet();
+	}
+
+	// Launching the same file again restarts a failed run from its last committed chunk
+	@PostMapping("/sellers/import")
+	public ResponseEntity<Long> importSellers(@RequestParam final String file) throws Exception {
+		final Path baseDir = Paths.get(importDir).toAbsolutePath().normalize();
+		final Path inputFile = baseDir.resolve(file).normalize();
+		if (!inputFile.startsWith(baseDir)) {
+			throw new IllegalArgumentException("Import file must be inside " + baseDir);
+		}
+		final JobParameters jobParameters = new JobParametersBuilder().addString("input.file", inputFile.toString())
+				.toJobParameters();
+		try {
+			final JobExecution execution = asyncJobLauncher.run(sellerImportJob, jobParameters);
+			return new ResponseEntity<>(execution.getId(), HttpStatus.ACCEPTED);
+		} catch (final JobInstanceAlreadyCompleteException | JobExecutionAlreadyRunningException e) {
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		}
+	}
+
+	// Restarts the last run if it failed (only its unfinished partitions run again), otherwise starts a new one
+	@PostMapping("/sellers/audit")
+	public ResponseEntity<Long> auditSellers() throws Exception {
+		JobParameters jobParameters = null;
+		final JobInstance lastInstance = jobExplorer.getLastJobInstance(sellerAuditJob.getName());
+		if (lastInstance != null) {
+			final JobExecution lastExecution = jobExplorer.getLastJobExecution(lastInstance);
+			if (lastExecution != null && (lastExecution.getStatus() == BatchStatus.FAILED
+					|| lastExecution.getStatus() == BatchStatus.STOPPED)) {
+				jobParameters = lastExecution.getJobParameters();
+			}
+		}
+		if (jobParameters == null) {
+			jobParameters = new JobParametersBuilder(jobExplorer).getNextJobParameters(sellerAuditJob)
+					.toJobParameters();
+		}
+		try {
+			final JobExecution execution = asyncJobLauncher.run(sellerAuditJob, jobParameters);
+			return new ResponseEntity<>(execution.getId(), HttpStatus.ACCEPTED);
+		} catch (final JobInstanceAlreadyCompleteException | JobExecutionAlreadyRunningException e) {
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		}
+	}
+
+	@GetMapping("/executions/{id}")
+	public ResponseEntity<String> getExecution(@PathVariable final Long id) {
+		final JobExecution execution = jobExplorer.getJobExecution(id);
+		if (execution == null) {
+			return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+		}
+		return new ResponseEntity<>(execution.getStatus().toString(), HttpStatus.OK);
+	}
+}
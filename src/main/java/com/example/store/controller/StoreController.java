@@ -1,7 +1,13 @@
 package com.example.store.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,16 +16,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.store.config.UserServiceClient;
 import com.example.store.entity.Enquiry;
 import com.example.store.entity.Seller;
 import com.example.store.entity.Store;
+import com.example.store.pojo.SellerBatch;
+import com.example.store.pojo.SellerImportResult;
+import com.example.store.pojo.SellerPage;
+import com.example.store.pojo.SellerPojo;
 import com.example.store.pojo.StorePojo;
 import com.example.store.repo.OrderEnquiryRepo;
 import com.example.store.service.KafkaProducerService;
 import com.example.store.service.StoreService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/store")
@@ -29,6 +42,8 @@ public class StoreController {
 	private StoreService storeService;
 	@Autowired
 	private KafkaProducerService kafkaProducerService;
+	@Autowired
+	private ObjectMapper objectMapper;
 
 //	@Autowired
 //	private UserServiceClient storeServiceClient;
@@ -55,16 +70,87 @@ public class StoreController {
 		return new ResponseEntity<>(createdSeller, HttpStatus.CREATED);
 	}
 
+	// Body is a JSON array of sellers, read element by element so large onboarding files are never held in memory
+	@PostMapping("/store/{storeId}/sellers")
+	public ResponseEntity<List<SellerImportResult>> createSellers(@PathVariable final Long storeId,
+			final HttpServletRequest request) throws IOException {
+		try (MappingIterator<Seller> sellers = objectMapper.readerFor(Seller.class)
+				.readValues(request.getInputStream())) {
+			final List<SellerImportResult> results = storeService.createSellers(storeId, sellers);
+			return new ResponseEntity<>(results, HttpStatus.OK);
+		}
+	}
+
 	@GetMapping("/store")
-	public ResponseEntity<List<Seller>> findStores() {
-		final List<Seller> createdSeller = storeService.findStores();
+	public ResponseEntity<List<SellerPojo>> findStores() {
+		final List<SellerPojo> createdSeller = storeService.findStores();
 		return new ResponseEntity<>(createdSeller, HttpStatus.OK);
 	}
 
+	@GetMapping(value = "/store", params = "ids")
+	public ResponseEntity<SellerBatch> findStores(@RequestParam final List<Long> ids) {
+		final SellerBatch sellers = storeService.findStores(ids);
+		return new ResponseEntity<>(sellers, HttpStatus.OK);
+	}
+
+	@PostMapping("/store/lookup")
+	public ResponseEntity<SellerBatch> lookupStores(@RequestBody final List<Long> ids) {
+		final SellerBatch sellers = storeService.findStores(ids);
+		return new ResponseEntity<>(sellers, HttpStatus.OK);
+	}
+
+	@GetMapping("/store/{storeId}/sellers")
+	public ResponseEntity<List<SellerPojo>> findSellersByStore(@PathVariable final Long storeId) {
+		final List<SellerPojo> sellers = storeService.findSellersByStore(storeId);
+		return new ResponseEntity<>(sellers, HttpStatus.OK);
+	}
+
+	@GetMapping(value = "/store/sellers", params = "location")
+	public ResponseEntity<List<SellerPojo>> findSellersByLocation(@RequestParam final String location) {
+		final List<SellerPojo> sellers = storeService.findSellersByLocation(location);
+		return new ResponseEntity<>(sellers, HttpStatus.OK);
+	}
+
+	@GetMapping("/store/page")
+	public ResponseEntity<SellerPage> findStores(@RequestParam(required = false) final Long cursor,
+			@RequestParam(defaultValue = "100") final int size) {
+		final SellerPage page = storeService.findStores(cursor, size);
+		return new ResponseEntity<>(page, HttpStatus.OK);
+	}
+
+	@GetMapping("/store/export")
+	public void exportStores(final HttpServletResponse response) throws IOException {
+		response.setContentType("application/x-ndjson");
+		response.setCharacterEncoding("UTF-8");
+		final OutputStream out = response.getOutputStream();
+		storeService.streamStores(seller -> {
+			try {
+				out.write(objectMapper.writeValueAsBytes(seller));
+				out.write('\n');
+			} catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		out.flush();
+	}
+
+	@GetMapping("/stores/{id}")
+	public ResponseEntity<Store> getStore(@PathVariable final Long id) {
+		final Store store = storeService.getStore(id);
+		return new ResponseEntity<>(store, HttpStatus.OK);
+	}
+
+	@GetMapping("/stores")
+	public ResponseEntity<List<Store>> getStores(@RequestParam(defaultValue = "0") final int page,
+			@RequestParam(defaultValue = "20") final int size) {
+		final List<Store> stores = storeService.getStores(page, size);
+		return new ResponseEntity<>(stores, HttpStatus.OK);
+	}
+
 	@GetMapping("store/{id}")
-	public ResponseEntity<Seller> findStore(@PathVariable final Long id) {
+	public ResponseEntity<SellerPojo> findStore(@PathVariable final Long id) {
 		System.out.println(" Main controller");
-		final Seller createdSeller = storeService.findStore(id);
+		final SellerPojo createdSeller = storeService.findStore(id);
 		return new ResponseEntity<>(createdSeller, createdSeller != null ? HttpStatus.OK : HttpStatus.NOT_FOUND);
 	}
 	@GetMapping("/store/kafka")
@@ -2,14 +2,24 @@ package com.example.store.entity;
 
 import java.time.LocalDateTime;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 @Entity
+@Table(indexes = @Index(name = "idx_application_status_granularity_time", columnList = "granularity, time"))
 public class ApplicationStatus {
 
+	public enum Granularity {
+		MINUTE, HOUR, DAY
+	}
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
@@ -18,6 +28,42 @@ public class ApplicationStatus {
 
 	private String status;
 
+	private String node;
+
+	// MINUTE rows are raw heartbeat snapshots; HOUR and DAY rows are their rollups
+	@Enumerated(EnumType.STRING)
+	@Column(length = 10)
+	private Granularity granularity;
+
+	// Number of MINUTE snapshots behind this row
+	private Integer samples;
+
+	// Bytes
+	private Long heapUsed;
+
+	private Long heapMax;
+
+	private Long nonHeapUsed;
+
+	// Collections and pause time during the interval, not since JVM start
+	private Long gcCount;
+
+	private Long gcTimeMs;
+
+	private Integer threadCount;
+
+	// Hikari pool: connections in use, idle, and threads waiting for one
+	private Integer poolActive;
+
+	private Integer poolIdle;
+
+	private Integer poolWaiting;
+
+	// Requests per second over the interval and the highest per-endpoint p99
+	private Double requestRate;
+
+	private Double requestP99Ms;
+
 	// Getters and setters
 	public Long getId() {
 		return id;
@@ -42,4 +88,116 @@ public class ApplicationStatus {
 	public void setStatus(final String status) {
 		this.status = status;
 	}
+
+	public String getNode() {
+		return node;
+	}
+
+	public void setNode(final String node) {
+		this.node = node;
+	}
+
+	public Granularity getGranularity() {
+		return granularity;
+	}
+
+	public void setGranularity(final Granularity granularity) {
+		this.granularity = granularity;
+	}
+
+	public Integer getSamples() {
+		return samples;
+	}
+
+	public void setSamples(final Integer samples) {
+		this.samples = samples;
+	}
+
+	public Long getHeapUsed() {
+		return heapUsed;
+	}
+
+	public void setHeapUsed(final Long heapUsed) {
+		this.heapUsed = heapUsed;
+	}
+
+	public Long getHeapMax() {
+		return heapMax;
+	}
+
+	public void setHeapMax(final Long heapMax) {
+		this.heapMax = heapMax;
+	}
+
+	public Long getNonHeapUsed() {
+		return nonHeapUsed;
+	}
+
+	public void setNonHeapUsed(final Long nonHeapUsed) {
+		this.nonHeapUsed = nonHeapUsed;
+	}
+
+	public Long getGcCount() {
+		return gcCount;
+	}
+
+	public void setGcCount(final Long gcCount) {
+		this.gcCount = gcCount;
+	}
+
+	public Long getGcTimeMs() {
+		return gcTimeMs;
+	}
+
+	public void setGcTimeMs(final Long gcTimeMs) {
+		this.gcTimeMs = gcTimeMs;
+	}
+
+	public Integer getThreadCount() {
+		return threadCount;
+	}
+
+	public void setThreadCount(final Integer threadCount) {
+		this.threadCount = threadCount;
+	}
+
+	public Integer getPoolActive() {
+		return poolActive;
+	}
+
+	public void setPoolActive(final Integer poolActive) {
+		this.poolActive = poolActive;
+	}
+
+	public Integer getPoolIdle() {
+		return poolIdle;
+	}
+
+	public void setPoolIdle(final Integer poolIdle) {
+		this.poolIdle = poolIdle;
+	}
+
+	public Integer getPoolWaiting() {
+		return poolWaiting;
+	}
+
+	public void setPoolWaiting(final Integer poolWaiting) {
+		this.poolWaiting = poolWaiting;
+	}
+
+	public Double getRequestRate() {
+		return requestRate;
+	}
+
+	public void setRequestRate(final Double requestRate) {
+		this.requestRate = requestRate;
+	}
+
+	public Double getRequestP99Ms() {
+		return requestP99Ms;
+	}
+
+	public void setRequestP99Ms(final Double requestP99Ms) {
+		this.requestP99Ms = requestP99Ms;
+	}
 }
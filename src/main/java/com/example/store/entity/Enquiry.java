@@ -5,6 +5,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import lombok.Data;
@@ -14,7 +15,8 @@ import lombok.Data;
 @Table(name = "enquiry")
 public class Enquiry {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enquiry_seq")
+	@SequenceGenerator(name = "enquiry_seq", sequenceName = "enquiry_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(name = "name")
@@ -0,0 +1,48 @@
+package com.example.store.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import lombok.Data;
+
+/**
+ * Event written in the same transaction as the change it describes and
+ * published later by the OutboxRelay. sentAt stays null until the broker has
+ * acked it.
+ */
+@Entity
+@Data
+@Table(name = "outbox_event", indexes = @Index(name = "idx_outbox_event_sent_at", columnList = "sent_at, created_at, id"))
+public class OutboxEvent {
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+	@SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+	private Long id;
+
+	// Kafka message key
+	@Column(name = "aggregate_id", nullable = false)
+	private Long aggregateId;
+
+	@Column(name = "type", nullable = false, length = 32)
+	private String type;
+
+	// Filled in right after persist, once the id is known
+	@Lob
+	@Column(name = "payload")
+	private String payload;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "sent_at")
+	private LocalDateTime sentAt;
+}
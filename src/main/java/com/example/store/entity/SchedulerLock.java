@@ -0,0 +1,43 @@
+package com.example.store.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per named lock. A node holds the lock while lockUntil is in the
+ * future and lockedBy is its owner id; an expired row can be taken over by
+ * anyone.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "scheduler_lock")
+public class SchedulerLock {
+	@Id
+	@Column(name = "name", length = 64)
+	private String name;
+
+	@Column(name = "lock_until", nullable = false)
+	private LocalDateTime lockUntil;
+
+	@Column(name = "locked_at", nullable = false)
+	private LocalDateTime lockedAt;
+
+	@Column(name = "locked_by", nullable = false)
+	private String lockedBy;
+
+	public SchedulerLock(final String name, final LocalDateTime lockUntil, final LocalDateTime lockedAt,
+			final String lockedBy) {
+		this.name = name;
+		this.lockUntil = lockUntil;
+		this.lockedAt = lockedAt;
+		this.lockedBy = lockedBy;
+	}
+}
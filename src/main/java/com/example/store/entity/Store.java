@@ -2,6 +2,7 @@ package com.example.store.entity;
 
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -9,16 +10,23 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import lombok.Data;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "store")
 @Table(name = "store")
 @Data
 public class Store {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "store_seq")
+	@SequenceGenerator(name = "store_seq", sequenceName = "store_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(name = "name")
@@ -28,6 +36,7 @@ public class Store {
 	private String location;
 
 	@OneToMany(mappedBy = "store", cascade = CascadeType.ALL)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "store.sellers")
 	private List<Seller> sellers;
 
 }
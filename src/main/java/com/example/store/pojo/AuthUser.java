@@ -0,0 +1,27 @@
+package com.example.store.pojo;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Security principal that also carries the user id, so code behind the JWT
+ * filter can use it without looking the user up again.
+ */
+public class AuthUser extends User {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Long id;
+
+	public AuthUser(final Long id, final String username, final String password,
+			final Collection<? extends GrantedAuthority> authorities) {
+		super(username, password, authorities);
+		this.id = id;
+	}
+
+	public Long getId() {
+		return id;
+	}
+}
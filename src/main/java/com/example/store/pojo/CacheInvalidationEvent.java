@@ -0,0 +1,35 @@
+package com.example.store.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published when a {@code Store} or {@code Seller} row changes so every node
+ * can drop its cached copy. Travels over Kafka as "TYPE:id".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationEvent {
+
+	public enum Type {
+		STORE, SELLER
+	}
+
+	private Type type;
+	private Long id;
+
+	public String toMessage() {
+		return type + ":" + id;
+	}
+
+	public static CacheInvalidationEvent fromMessage(final String message) {
+		final int separator = message.indexOf(':');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Invalid cache invalidation message: " + message);
+		}
+		return new CacheInvalidationEvent(Type.valueOf(message.substring(0, separator)),
+				Long.valueOf(message.substring(separator + 1)));
+	}
+}
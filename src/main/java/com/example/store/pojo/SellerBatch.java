@@ -0,0 +1,18 @@
+package com.example.store.pojo;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerBatch {
+
+	// In the order the ids were requested
+	private List<SellerPojo> sellers;
+
+	private List<Long> missingIds;
+}
@@ -0,0 +1,11 @@
+package com.example.store.pojo;
+
+import lombok.Data;
+
+// One line of a seller import file: storeId,name,location
+@Data
+public class SellerCsvRow {
+	private Long storeId;
+	private String name;
+	private String location;
+}
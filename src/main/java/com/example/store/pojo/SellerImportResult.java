@@ -0,0 +1,24 @@
+package com.example.store.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerImportResult {
+
+	// Position of the row in the request body
+	private int index;
+	private Long id;
+	private String error;
+
+	public static SellerImportResult created(final int index, final Long id) {
+		return new SellerImportResult(index, id, null);
+	}
+
+	public static SellerImportResult failed(final int index, final String error) {
+		return new SellerImportResult(index, null, error);
+	}
+}
@@ -0,0 +1,18 @@
+package com.example.store.pojo;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerPage {
+
+	private List<SellerPojo> items;
+
+	// Pass back as "cursor" to fetch the next page; null when this is the last page
+	private Long nextCursor;
+}
@@ -1,10 +1,20 @@
 package com.example.store.pojo;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class SellerPojo {
 
 	private Long id;
 	private String name;
+	private String location;
+
+	// Used by the "select new" projections in SellerRepository
+	public SellerPojo(final Long id, final String name, final String location) {
+		this.id = id;
+		this.name = name;
+		this.location = location;
+	}
 }
@@ -0,0 +1,51 @@
+package com.example.store.pojo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Domain event published to downstream systems through the outbox. Keyed by
+ * storeId on Kafka so all events of one store go to one partition; the outbox
+ * relay does not guarantee they arrive in commit order, so consumers must not
+ * depend on it. eventId is the outbox row id and is stable across
+ * redeliveries.
+ */
+@Data
+@NoArgsConstructor
+public class StoreEvent {
+
+	public enum Type {
+		STORE_CREATED, SELLER_CREATED
+	}
+
+	private Long eventId;
+	private Type type;
+	private Long storeId;
+	// Null for store events
+	private Long sellerId;
+	private String name;
+	private String location;
+	// Epoch millis
+	private long occurredAt;
+
+	public static StoreEvent storeCreated(final Long storeId, final String name, final String location) {
+		return of(Type.STORE_CREATED, storeId, null, name, location);
+	}
+
+	public static StoreEvent sellerCreated(final Long storeId, final Long sellerId, final String name,
+			final String location) {
+		return of(Type.SELLER_CREATED, storeId, sellerId, name, location);
+	}
+
+	private static StoreEvent of(final Type type, final Long storeId, final Long sellerId, final String name,
+			final String location) {
+		final StoreEvent event = new StoreEvent();
+		event.setType(type);
+		event.setStoreId(storeId);
+		event.setSellerId(sellerId);
+		event.setName(name);
+		event.setLocation(location);
+		event.setOccurredAt(System.currentTimeMillis());
+		return event;
+	}
+}
@@ -1,11 +1,29 @@
 package com.example.store.repo;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.store.entity.ApplicationStatus;
+import com.example.store.entity.ApplicationStatus.Granularity;
 
 @Repository
 public interface ApplicationStatusRepo extends JpaRepository<ApplicationStatus, Long> {
 
+	Optional<ApplicationStatus> findFirstByGranularityAndTimeBeforeOrderByTimeAsc(Granularity granularity,
+			LocalDateTime cutoff);
+
+	List<ApplicationStatus> findByGranularityAndTimeGreaterThanEqualAndTimeLessThan(Granularity granularity,
+			LocalDateTime from, LocalDateTime to);
+
+	// Bulk delete of rows written before snapshots carried a granularity; rolled up rows are kept
+	@Modifying
+	@Query("delete from ApplicationStatus a where a.granularity is null and a.time < :cutoff")
+	int deleteLegacyOlderThan(@Param("cutoff") LocalDateTime cutoff);
 }
\ No newline at end of file
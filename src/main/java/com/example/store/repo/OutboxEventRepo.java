@@ -0,0 +1,30 @@
+package com.example.store.repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.store.entity.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepo extends JpaRepository<OutboxEvent, Long> {
+
+	// Oldest unsent events first; served by idx_outbox_event_sent_at. Pooled ids are handed out in blocks per
+	// node, so across nodes only created_at approximates the order the events happened in
+	List<OutboxEvent> findBySentAtIsNullOrderByCreatedAtAscIdAsc(Pageable pageable);
+
+	@Modifying
+	@Query("update OutboxEvent o set o.sentAt = :sentAt where o.id in :ids")
+	int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+	@Modifying
+	@Query("delete from OutboxEvent o where o.sentAt < :cutoff")
+	int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,34 @@
+package com.example.store.repo;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.store.entity.SchedulerLock;
+
+@Repository
+public interface SchedulerLockRepo extends JpaRepository<SchedulerLock, String> {
+
+	// Conditional updates: the row count tells the caller whether it won, without a read-then-write race
+
+	@Modifying
+	@Query("update SchedulerLock l set l.lockUntil = :lockUntil, l.lockedAt = :now, l.lockedBy = :owner"
+			+ " where l.name = :name and l.lockUntil <= :now")
+	int acquire(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now,
+			@Param("lockUntil") LocalDateTime lockUntil);
+
+	@Modifying
+	@Query("update SchedulerLock l set l.lockUntil = :lockUntil"
+			+ " where l.name = :name and l.lockedBy = :owner and l.lockUntil > :now")
+	int extend(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now,
+			@Param("lockUntil") LocalDateTime lockUntil);
+
+	@Modifying
+	@Query("update SchedulerLock l set l.lockUntil = :lockUntil where l.name = :name and l.lockedBy = :owner")
+	int release(@Param("name") String name, @Param("owner") String owner,
+			@Param("lockUntil") LocalDateTime lockUntil);
+}
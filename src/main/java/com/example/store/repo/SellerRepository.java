@@ -1,11 +1,50 @@
 package com.example.store.repo;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.store.entity.Seller;
+import com.example.store.pojo.SellerPojo;
 
 @Repository
 public interface SellerRepository extends JpaRepository<Seller, Long> {
-	// You can add custom query methods here if needed
-}
\ No newline at end of file
+
+	// Read paths select straight into SellerPojo: nothing is managed, so no snapshots or dirty checking
+
+	@Transactional(readOnly = true)
+	@Query("select new com.example.store.pojo.SellerPojo(s.id, s.name, s.location) from Seller s where s.id = :id")
+	Optional<SellerPojo> findViewById(@Param("id") Long id);
+
+	@Query("select new com.example.store.pojo.SellerPojo(s.id, s.name, s.location) from Seller s order by s.id")
+	List<SellerPojo> findAllViews();
+
+	@Query("select new com.example.store.pojo.SellerPojo(s.id, s.name, s.location) from Seller s where s.id in :ids")
+	List<SellerPojo> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query("select new com.example.store.pojo.SellerPojo(s.id, s.name, s.location) from Seller s where s.store.id = :storeId order by s.id")
+	List<SellerPojo> findViewsByStoreId(@Param("storeId") Long storeId);
+
+	@Query("select new com.example.store.pojo.SellerPojo(s.id, s.name, s.location) from Seller s where lower(trim(s.location)) = lower(trim(:location)) order by s.id")
+	List<SellerPojo> findViewsByLocation(@Param("location") String location);
+
+	// Keyset page: id > :cursor ORDER BY id LIMIT pageable.size, so the cost does not grow with the offset
+	@Query("select new com.example.store.pojo.SellerPojo(s.id, s.name, s.location) from Seller s where s.id > :cursor order by s.id")
+	List<SellerPojo> findPageAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+	// Integer.MIN_VALUE makes Connector/J stream rows one by one instead of buffering the whole result set
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+	@Query("select new com.example.store.pojo.SellerPojo(s.id, s.name, s.location) from Seller s order by s.id")
+	Stream<SellerPojo> streamAll();
+}
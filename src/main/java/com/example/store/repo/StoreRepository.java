@@ -1,11 +1,33 @@
 package com.example.store.repo;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.store.entity.Store;
 
 @Repository
 public interface StoreRepository extends JpaRepository<Store, Long> {
-	// You can add custom query methods here if needed
+
+	@EntityGraph(attributePaths = "sellers")
+	Optional<Store> findWithSellersById(Long id);
+
+	// Page over ids first: paging a collection fetch join directly makes Hibernate paginate in memory
+	@Query("select s.id from Store s order by s.id")
+	List<Long> findIdPage(Pageable pageable);
+
+	@EntityGraph(attributePaths = "sellers")
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+	@Query("select distinct s from Store s where s.id in :ids order by s.id")
+	List<Store> findWithSellersByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -10,6 +10,8 @@ import com.example.store.entity.User;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+	// Not query-cached: each node would keep its own, empty results included, so a user signed up on one node
+	// would stay "not found" on the others. The roles still come from the second-level cache.
 	Optional<User> findByUsername(String username);
 
 }
@@ -1,27 +1,145 @@
 package com.example.store.service;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import com.example.store.component.KafkaSpool;
+import com.example.store.pojo.StoreEvent;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+/**
+ * Asynchronous publisher. Sends are batched by the Kafka producer (linger.ms,
+ * batch.size and compression are in application.yml); each call returns a
+ * future that completes when the broker acks, and the outcome and latency are
+ * recorded on the kafka.producer.send timer. At most store.kafka.max-in-flight
+ * sends may be unacknowledged: beyond that a caller waits up to
+ * store.kafka.acquire-timeout and then gets a failed future, so a slow broker
+ * pushes back on the callers instead of filling the producer buffer.
+ *
+ * Text messages go through the kafkaProducer circuit breaker: a failed send,
+ * or any send while the breaker is open, is appended to the local
+ * {@link KafkaSpool} and its future completes with a null SendResult. While
+ * the spool holds messages, new ones are appended behind them so the
+ * {@link com.example.store.component.KafkaSpoolReplayer} delivers everything
+ * in order; that check happens before the breaker, so only real broker sends
+ * are recorded by it or take up its half-open trial calls. Store events are
+ * not spooled: they already wait in the outbox and an open breaker just makes
+ * the relay retry later.
+ */
 @Service
 public class KafkaProducerService {
 
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, StoreEvent> storeEventKafkaTemplate;
+    private final KafkaSpool spool;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore inFlight;
+    private final long acquireTimeoutMs;
 
     @Autowired
-    public KafkaProducerService(KafkaTemplate<String, String> kafkaTemplate) {
+    public KafkaProducerService(KafkaTemplate<String, String> kafkaTemplate,
+            KafkaTemplate<String, StoreEvent> storeEventKafkaTemplate, KafkaSpool spool,
+            MeterRegistry meterRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+            @Value("${store.kafka.max-in-flight:1000}") int maxInFlight,
+            @Value("${store.kafka.acquire-timeout:100ms}") Duration acquireTimeout) {
         this.kafkaTemplate = kafkaTemplate;
+        this.storeEventKafkaTemplate = storeEventKafkaTemplate;
+        this.spool = spool;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("kafkaProducer");
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeoutMs = acquireTimeout.toMillis();
+        Gauge.builder("kafka.producer.in.flight", inFlight, permits -> maxInFlight - permits.availablePermits())
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<SendResult<String, String>> sendMessage(String topic, String message) {
+        return sendMessage(topic, null, message);
+    }
+
+    // Messages with the same key go to the same partition and keep their order
+    public CompletableFuture<SendResult<String, String>> sendMessage(String topic, String key, String message) {
+        if (!spool.isEmpty()) {
+            return spoolMessage(topic, key, message, null);
+        }
+        // A rejected call (breaker open, or no half-open trial left) fails the stage with CallNotPermittedException
+        return circuitBreaker.executeCompletionStage(() -> send(kafkaTemplate, topic, key, message))
+                .toCompletableFuture()
+                .handle((result, failure) -> failure == null ? CompletableFuture.completedFuture(result)
+                        : spoolMessage(topic, key, message, failure))
+                .thenCompose(Function.identity());
     }
-    //@CircuitBreaker(name = "productService", fallbackMethod = "fallbackResponse")
-    public void sendMessage(String topic, String message) {
-        kafkaTemplate.send(topic, message);
-        System.out.println("Sent message:  " + message);
+
+    // Binary encoded (see StoreEventCodec), keyed by store id so each store's events share a partition
+    public CompletableFuture<SendResult<String, StoreEvent>> sendStoreEvent(String topic, StoreEvent event) {
+        return circuitBreaker
+                .executeCompletionStage(
+                        () -> send(storeEventKafkaTemplate, topic, String.valueOf(event.getStoreId()), event))
+                .toCompletableFuture();
     }
-    
-    public String fallbackResponse(Exception e) {
-        return "Service temporarily unavailable. Please try again later.";
+
+    private <V> CompletableFuture<SendResult<String, V>> send(KafkaTemplate<String, V> template, String topic,
+            String key, V value) {
+        CompletableFuture<SendResult<String, V>> result = new CompletableFuture<>();
+        try {
+            if (!inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                meterRegistry.counter("kafka.producer.rejected", "topic", topic).increment();
+                result.completeExceptionally(new IllegalStateException("Too many Kafka sends in flight for " + topic));
+                return result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return result;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            template.send(topic, key, value).addCallback(sendResult -> {
+                inFlight.release();
+                sample.stop(meterRegistry.timer("kafka.producer.send", "topic", topic, "result", "success"));
+                result.complete(sendResult);
+            }, failure -> {
+                inFlight.release();
+                sample.stop(meterRegistry.timer("kafka.producer.send", "topic", topic, "result", "failure"));
+                result.completeExceptionally(failure);
+            });
+        } catch (RuntimeException e) {
+            // send() itself fails when metadata or buffer space is not available within max.block.ms
+            inFlight.release();
+            sample.stop(meterRegistry.timer("kafka.producer.send", "topic", topic, "result", "failure"));
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private CompletableFuture<SendResult<String, String>> spoolMessage(String topic, String key, String message,
+            Throwable cause) {
+        CompletableFuture<SendResult<String, String>> result = new CompletableFuture<>();
+        try {
+            spool.append(topic, key, message);
+            meterRegistry.counter("kafka.producer.spooled", "topic", topic).increment();
+            result.complete(null);
+        } catch (RuntimeException e) {
+            if (cause != null) {
+                e.addSuppressed(cause);
+            }
+            result.completeExceptionally(e);
+        }
+        return result;
     }
 }
@@ -1,11 +1,17 @@
 package com.example.store.service;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 
 import com.example.store.entity.Seller;
 import com.example.store.entity.Store;
+import com.example.store.pojo.SellerBatch;
+import com.example.store.pojo.SellerImportResult;
+import com.example.store.pojo.SellerPage;
+import com.example.store.pojo.SellerPojo;
 import com.example.store.pojo.StorePojo;
 
 @Service
@@ -13,7 +19,9 @@ public interface StoreService {
 
 	Store createStore(StorePojo store);
 
-	Store getStore(Integer id);
+	Store getStore(Long id);
+
+	List<Store> getStores(int page, int size);
 
 	void removeStore();
 
@@ -21,8 +29,20 @@ public interface StoreService {
 
 	Seller createSeller(Long storeId, Seller seller);
 
-	List<Seller> findStores();
+	List<SellerImportResult> createSellers(Long storeId, Iterator<Seller> sellers);
+
+	List<SellerPojo> findStores();
+
+	SellerPage findStores(Long cursor, int size);
+
+	void streamStores(Consumer<SellerPojo> consumer);
+
+	SellerBatch findStores(List<Long> ids);
+
+	SellerPojo findStore(Long id);
+
+	List<SellerPojo> findSellersByStore(Long storeId);
 
-	Seller findStore(Long id);
+	List<SellerPojo> findSellersByLocation(String location);
 
 }
@@ -1,12 +1,47 @@
 package com.example.store.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import com.example.store.component.SellerView;
+import com.example.store.component.SingleFlight;
+import com.example.store.component.StoreEventOutbox;
+import com.example.store.config.CacheConfig;
 import com.example.store.entity.Seller;
 import com.example.store.entity.Store;
+import com.example.store.pojo.CacheInvalidationEvent;
+import com.example.store.pojo.SellerBatch;
+import com.example.store.pojo.SellerImportResult;
+import com.example.store.pojo.SellerPage;
+import com.example.store.pojo.SellerPojo;
+import com.example.store.pojo.StoreEvent;
 import com.example.store.pojo.StorePojo;
 import com.example.store.repo.SellerRepository;
 import com.example.store.repo.StoreRepository;
@@ -21,19 +56,61 @@ public class StoreServiceImpl implements StoreService {
 	private SellerRepository sellerRepo;
 	@Autowired
 	private StoreRepository storeRepo;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	@Autowired
+	private SingleFlight<Long, SellerPojo> sellerLoads;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private StoreEventOutbox outbox;
+	@Autowired
+	private SellerView sellerView;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${store.page.max-size:500}")
+	private int maxPageSize = 500;
+
+	@Value("${store.multi-get.max-ids:500}")
+	private int maxMultiGetIds = 500;
+
+	@Value("${store.bulk.chunk-size:1000}")
+	private int bulkChunkSize = 1000;
+
+	@Value("${store.view.enabled:false}")
+	private boolean viewEnabled;
 
 	@Override
+	@Transactional
 	public Store createStore(final StorePojo storeRequest) {
 		final Store store = new Store();
 		store.setName(storeRequest.getName());
 		store.setLocation(storeRequest.getLocation());
-		return storeRepo.save(store);
+		final Store savedStore = storeRepo.save(store);
+		outbox.record(StoreEvent.storeCreated(savedStore.getId(), savedStore.getName(), savedStore.getLocation()));
+		eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.Type.STORE, savedStore.getId()));
+		return savedStore;
 	}
 
 	@Override
-	public Store getStore(final Integer id) {
-		// TODO Auto-generated method stub
-		return null;
+	@Transactional(readOnly = true)
+	public Store getStore(final Long id) {
+		return storeRepo.findWithSellersById(id)
+				.orElseThrow(() -> new IllegalArgumentException("Store not found with id: " + id));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Store> getStores(final int page, final int size) {
+		final int pageSize = Math.max(1, Math.min(size, maxPageSize));
+		final List<Long> ids = storeRepo.findIdPage(PageRequest.of(Math.max(page, 0), pageSize));
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		// Two statements per page however many sellers each store has
+		return storeRepo.findWithSellersByIdIn(ids);
 	}
 
 	@Override
@@ -49,6 +126,7 @@ public class StoreServiceImpl implements StoreService {
 	}
 
 	@Override
+	@Transactional
 	public Seller createSeller(final Long storeId, final Seller seller) {
 		final Store store = storeRepo.findById(storeId)
 				.orElseThrow(() -> new IllegalArgumentException("Store not found with id: " + storeId));
@@ -58,18 +136,173 @@ public class StoreServiceImpl implements StoreService {
 
 		sellerObj.setStore(store);
 
-		return sellerRepo.save(sellerObj);
+		final Seller savedSeller = sellerRepo.save(sellerObj);
+		outbox.record(StoreEvent.sellerCreated(storeId, savedSeller.getId(), savedSeller.getName(),
+				savedSeller.getLocation()));
+		eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.Type.SELLER, savedSeller.getId()));
+		// The store's cached seller collection is stale on the other nodes too
+		eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.Type.STORE, storeId));
+		return savedSeller;
 	}
 
 	@Override
-	public List<Seller> findStores() {
-		return sellerRepo.findAll();
+	public List<SellerImportResult> createSellers(final Long storeId, final Iterator<Seller> sellers) {
+		if (!storeRepo.existsById(storeId)) {
+			throw new IllegalArgumentException("Store not found with id: " + storeId);
+		}
+		final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		final List<SellerImportResult> results = new ArrayList<>();
+		final List<Seller> chunk = new ArrayList<>(bulkChunkSize);
+		final List<Integer> chunkIndexes = new ArrayList<>(bulkChunkSize);
+		int index = 0;
+		while (sellers.hasNext()) {
+			final Seller seller = sellers.next();
+			final int rowIndex = index++;
+			if (seller == null || !StringUtils.hasText(seller.getName())) {
+				results.add(SellerImportResult.failed(rowIndex, "Seller name is required"));
+				continue;
+			}
+			chunk.add(seller);
+			chunkIndexes.add(rowIndex);
+			if (chunk.size() == bulkChunkSize) {
+				writeSellerChunk(transactionTemplate, storeId, chunk, chunkIndexes, results);
+			}
+		}
+		if (!chunk.isEmpty()) {
+			writeSellerChunk(transactionTemplate, storeId, chunk, chunkIndexes, results);
+		}
+		results.sort(Comparator.comparingInt(SellerImportResult::getIndex));
+		log.info("Onboarded {} rows for store {}", results.size(), storeId);
+		eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.Type.STORE, storeId));
+		return results;
+	}
+
+	// One transaction and one batched insert per chunk; a failing chunk rolls back alone and is reported per row
+	private void writeSellerChunk(final TransactionTemplate transactionTemplate, final Long storeId,
+			final List<Seller> chunk, final List<Integer> chunkIndexes, final List<SellerImportResult> results) {
+		try {
+			final List<Seller> savedSellers = transactionTemplate.execute(status -> {
+				final Store store = storeRepo.getOne(storeId);
+				final List<Seller> sellerObjs = new ArrayList<>(chunk.size());
+				for (final Seller seller : chunk) {
+					final Seller sellerObj = new Seller();
+					sellerObj.setName(seller.getName());
+					sellerObj.setLocation(seller.getLocation());
+					sellerObj.setStore(store);
+					sellerObjs.add(sellerObj);
+				}
+				final List<Seller> saved = sellerRepo.saveAll(sellerObjs);
+				for (final Seller sellerObj : saved) {
+					outbox.record(StoreEvent.sellerCreated(storeId, sellerObj.getId(), sellerObj.getName(),
+							sellerObj.getLocation()));
+				}
+				// Through the repository so a failing insert surfaces as a DataAccessException
+				sellerRepo.flush();
+				entityManager.clear();
+				return saved;
+			});
+			for (int i = 0; i < savedSellers.size(); i++) {
+				results.add(SellerImportResult.created(chunkIndexes.get(i), savedSellers.get(i).getId()));
+			}
+		} catch (final DataAccessException | TransactionException e) {
+			log.warn("Seller chunk for store {} failed", storeId, e);
+			for (final Integer rowIndex : chunkIndexes) {
+				results.add(SellerImportResult.failed(rowIndex, e.getMessage()));
+			}
+		}
+		chunk.clear();
+		chunkIndexes.clear();
 	}
 
 	@Override
-	public Seller findStore(final Long storeId) {
-		return sellerRepo.findById(storeId)
-				.orElseThrow(() -> new IllegalArgumentException("Store not found with id: " + storeId));
+	@Transactional(readOnly = true)
+	public List<SellerPojo> findStores() {
+		return sellerRepo.findAllViews();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public SellerPage findStores(final Long cursor, final int size) {
+		final int pageSize = Math.max(1, Math.min(size, maxPageSize));
+		// Fetch one extra row to learn whether another page exists without a count query
+		final List<SellerPojo> sellers = sellerRepo.findPageAfter(cursor == null ? 0L : cursor,
+				PageRequest.of(0, pageSize + 1));
+		if (sellers.size() <= pageSize) {
+			return new SellerPage(sellers, null);
+		}
+		final List<SellerPojo> items = sellers.subList(0, pageSize);
+		return new SellerPage(items, items.get(pageSize - 1).getId());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void streamStores(final Consumer<SellerPojo> consumer) {
+		// Projected rows never enter the persistence context, so there is nothing to clear while streaming
+		try (Stream<SellerPojo> sellers = sellerRepo.streamAll()) {
+			long count = 0;
+			for (final SellerPojo seller : (Iterable<SellerPojo>) sellers::iterator) {
+				consumer.accept(seller);
+				count++;
+			}
+			log.info("Streamed {} sellers", count);
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public SellerBatch findStores(final List<Long> ids) {
+		// "?ids=1,,2" binds a null; it can never match a row
+		final Set<Long> requestedIds = ids.stream().filter(Objects::nonNull)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		if (requestedIds.isEmpty()) {
+			// An empty IN list is a syntax error on MySQL
+			return new SellerBatch(Collections.emptyList(), Collections.emptyList());
+		}
+		if (requestedIds.size() > maxMultiGetIds) {
+			throw new IllegalArgumentException("At most " + maxMultiGetIds + " ids can be requested at once");
+		}
+		// One IN query for the whole set, then put the rows back in request order
+		final Map<Long, SellerPojo> found = sellerRepo.findViewsByIdIn(requestedIds).stream()
+				.collect(Collectors.toMap(SellerPojo::getId, Function.identity()));
+		final List<SellerPojo> sellers = new ArrayList<>(found.size());
+		final List<Long> missingIds = new ArrayList<>();
+		for (final Long id : requestedIds) {
+			final SellerPojo seller = found.get(id);
+			if (seller != null) {
+				sellers.add(seller);
+			} else {
+				missingIds.add(id);
+			}
+		}
+		return new SellerBatch(sellers, missingIds);
+	}
+
+	@Override
+	@Cacheable(cacheNames = CacheConfig.SELLER_CACHE)
+	public SellerPojo findStore(final Long storeId) {
+		// Not sync: concurrent misses for a hot id all get here and share one lookup, counted under
+		// singleflight.collapsed, instead of each hitting the database
+		return sellerLoads.execute(storeId, () -> sellerRepo.findViewById(storeId)
+				.orElseThrow(() -> new IllegalArgumentException("Store not found with id: " + storeId)));
+	}
+
+	// Served from the Kafka-fed SellerView once it has caught up; the database otherwise
+	@Override
+	@Transactional(readOnly = true)
+	public List<SellerPojo> findSellersByStore(final Long storeId) {
+		if (viewEnabled && sellerView.isReady()) {
+			return sellerView.findSellersByStore(storeId);
+		}
+		return sellerRepo.findViewsByStoreId(storeId);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<SellerPojo> findSellersByLocation(final String location) {
+		if (viewEnabled && sellerView.isReady()) {
+			return sellerView.findSellersByLocation(location);
+		}
+		return sellerRepo.findViewsByLocation(location);
 	}
 
 }
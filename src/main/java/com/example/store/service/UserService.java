@@ -1,11 +1,13 @@
 package com.example.store.service;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
 
 import com.example.store.entity.User;
 
-public interface UserService {
+public interface UserService extends UserDetailsService {
 	User signUp(User newUser);
 
+	@Override
 	UserDetails loadUserByUsername(String username);
 }
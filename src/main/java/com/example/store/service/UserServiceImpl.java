@@ -10,6 +10,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.example.store.entity.User;
+import com.example.store.pojo.AuthUser;
 import com.example.store.repo.UserRepository;
 
 @Service
@@ -35,7 +36,8 @@ public class UserServiceImpl implements UserService {
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
 		final User user = userRepository.findByUsername(username)
 				.orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-		return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPassword(),
+		// Login only: the id and roles end up in the JWT, so authenticated requests never come back here
+		return new AuthUser(user.getId(), user.getUsername(), user.getPassword(),
 				user.getRoles().stream().map(role -> new SimpleGrantedAuthority(role.getRole()))
 						.collect(Collectors.toList()));
 	}
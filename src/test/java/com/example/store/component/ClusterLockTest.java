@@ -0,0 +1,134 @@
+package com.example.store.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.store.entity.SchedulerLock;
+import com.example.store.repo.SchedulerLockRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Not transactional: every lock operation commits on its own, as it does between nodes
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ClusterLock.class, ClusterLockTest.MetricsConfiguration.class })
+public class ClusterLockTest {
+
+	@TestConfiguration
+	static class MetricsConfiguration {
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@Autowired
+	private ClusterLock clusterLock;
+
+	@Autowired
+	private SchedulerLockRepo schedulerLockRepo;
+
+	@Autowired
+	private AutowireCapableBeanFactory beanFactory;
+
+	// A second instance has its own owner id, like a lock on another node
+	private ClusterLock otherNode;
+
+	@BeforeEach
+	public void setUp() {
+		otherNode = beanFactory.createBean(ClusterLock.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		otherNode.shutdown();
+		schedulerLockRepo.deleteAll();
+	}
+
+	@Test
+	void testFirstUseAcquiresAndRunsTask() throws Exception {
+		// Arrange
+		final AtomicInteger runs = new AtomicInteger();
+
+		// Act
+		final boolean ran = clusterLock.runLocked("job", Duration.ofMinutes(1), Duration.ZERO, runs::incrementAndGet);
+
+		// Assert
+		assertTrue(ran);
+		assertEquals(1, runs.get());
+		assertTrue(schedulerLockRepo.existsById("job"));
+	}
+
+	@Test
+	void testHeldLockIsNotTakenByAnotherNode() throws Exception {
+		// Arrange
+		final AtomicBoolean otherRan = new AtomicBoolean();
+		final AtomicBoolean otherAcquired = new AtomicBoolean(true);
+
+		// Act
+		clusterLock.runLocked("job", Duration.ofMinutes(1), Duration.ZERO, () -> otherAcquired
+				.set(otherNode.runLocked("job", Duration.ofMinutes(1), Duration.ZERO, () -> otherRan.set(true))));
+
+		// Assert
+		assertFalse(otherAcquired.get());
+		assertFalse(otherRan.get());
+		// Released without a hold, so the other node gets it next
+		assertTrue(otherNode.runLocked("job", Duration.ofMinutes(1), Duration.ZERO, () -> otherRan.set(true)));
+		assertTrue(otherRan.get());
+	}
+
+	@Test
+	void testExpiredLeaseOfCrashedNodeIsTakenOver() throws Exception {
+		// Arrange: a node that crashed while holding both locks; only one lease has run out
+		final LocalDateTime now = LocalDateTime.now();
+		schedulerLockRepo.save(new SchedulerLock("expired", now.minusSeconds(1), now.minusMinutes(1), "crashed"));
+		schedulerLockRepo.save(new SchedulerLock("live", now.plusMinutes(1), now.minusMinutes(1), "crashed"));
+
+		// Act
+		final boolean expired = clusterLock.runLocked("expired", Duration.ofMinutes(1), Duration.ZERO, () -> {
+		});
+		final boolean live = clusterLock.runLocked("live", Duration.ofMinutes(1), Duration.ZERO, () -> {
+		});
+
+		// Assert
+		assertTrue(expired);
+		assertFalse(live);
+	}
+
+	@Test
+	void testReleaseKeepsLockUntilLockAtLeastFor() throws Exception {
+		// Arrange
+		final LocalDateTime before = LocalDateTime.now();
+
+		// Act: a short task still holds the lock for lockAtLeastFor after it was acquired
+		clusterLock.runLocked("job", Duration.ofMinutes(10), Duration.ofMinutes(5), () -> {
+		});
+		final boolean otherRan = otherNode.runLocked("job", Duration.ofMinutes(10), Duration.ZERO, () -> {
+		});
+
+		// Assert
+		assertFalse(otherRan);
+		final LocalDateTime lockUntil = schedulerLockRepo.findById("job").orElseThrow().getLockUntil();
+		assertFalse(lockUntil.isBefore(before.plusMinutes(5)));
+		assertTrue(lockUntil.isBefore(before.plusMinutes(6)));
+	}
+}
@@ -0,0 +1,74 @@
+package com.example.store.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import com.example.store.pojo.StoreEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class EventDeduplicatorTest {
+
+	@Test
+	public void testDropsRedeliveredOffsetsAndResentEvents() {
+		// Arrange
+		final EventDeduplicator deduplicator = new EventDeduplicator(2, new SimpleMeterRegistry());
+
+		// Act & Assert
+		assertEquals(List.of(10L, 11L), applied(deduplicator, batch(record(0, 10, 1L), record(0, 11, 2L))));
+		// Same offset again after a rebalance
+		assertEquals(List.of(), applied(deduplicator, batch(record(0, 11, 2L))));
+		// Other partitions keep their own high-water mark; the outbox relay resent event 3 under a new offset
+		assertEquals(List.of(5L), applied(deduplicator, batch(record(1, 5, 3L), record(1, 6, 3L))));
+		assertEquals(List.of(), applied(deduplicator, batch(record(1, 7, 3L))));
+		// Event 1 has been evicted from the recent ids (capacity 2), so its resend gets through
+		assertEquals(List.of(12L), applied(deduplicator, batch(record(0, 12, 1L))));
+	}
+
+	@Test
+	public void testBatchThatFailedToApplyIsNotDroppedOnRedelivery() {
+		// Arrange
+		final EventDeduplicator deduplicator = new EventDeduplicator(2, new SimpleMeterRegistry());
+
+		// Act: the first delivery is filtered but never marked applied
+		deduplicator.filter(batch(record(0, 10, 1L)));
+		final List<ConsumerRecord<String, StoreEvent>> redelivered = deduplicator.filter(batch(record(0, 10, 1L)));
+
+		// Assert
+		assertEquals(1, redelivered.size());
+	}
+
+	// Filters and marks like SellerViewMaterializer does; returns the offsets that got through
+	private static List<Long> applied(final EventDeduplicator deduplicator,
+			final List<ConsumerRecord<String, StoreEvent>> records) {
+		final List<ConsumerRecord<String, StoreEvent>> candidates = deduplicator.filter(records);
+		deduplicator.markApplied(candidates);
+		return candidates.stream().map(ConsumerRecord::offset).collect(Collectors.toList());
+	}
+
+	private static List<ConsumerRecord<String, StoreEvent>> batch(final ConsumerRecord<String, StoreEvent> first) {
+		final List<ConsumerRecord<String, StoreEvent>> records = new ArrayList<>();
+		records.add(first);
+		return records;
+	}
+
+	private static List<ConsumerRecord<String, StoreEvent>> batch(final ConsumerRecord<String, StoreEvent> first,
+			final ConsumerRecord<String, StoreEvent> second) {
+		final List<ConsumerRecord<String, StoreEvent>> records = batch(first);
+		records.add(second);
+		return records;
+	}
+
+	private static ConsumerRecord<String, StoreEvent> record(final int partition, final long offset,
+			final Long eventId) {
+		final StoreEvent event = StoreEvent.storeCreated(1L, "Store", "Kochi");
+		event.setEventId(eventId);
+		return new ConsumerRecord<>("javami-store-events", partition, offset, "1", event);
+	}
+}
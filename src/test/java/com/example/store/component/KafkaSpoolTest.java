@@ -0,0 +1,61 @@
+package com.example.store.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.example.store.component.KafkaSpool.SpooledMessage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class KafkaSpoolTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void testReplaysInOrderAcrossSegmentsAndRestarts() throws Exception {
+		// Arrange: segments small enough to hold only a few messages each
+		final KafkaSpool spool = new KafkaSpool(directory.toString(), DataSize.ofBytes(128),
+				new SimpleMeterRegistry());
+		for (int i = 0; i < 10; i++) {
+			spool.append("topic", i % 2 == 0 ? null : "key-" + i, "message-" + i);
+		}
+		final List<SpooledMessage> first = spool.peek(2);
+		spool.commit(first);
+
+		// Act: reopen the directory as after a restart and drain it
+		final KafkaSpool recovered = new KafkaSpool(directory.toString(), DataSize.ofBytes(128),
+				new SimpleMeterRegistry());
+		final StringBuilder replayed = new StringBuilder();
+		while (!recovered.isEmpty()) {
+			final List<SpooledMessage> batch = recovered.peek(3);
+			for (final SpooledMessage message : batch) {
+				replayed.append(message.getValue()).append(',');
+			}
+			recovered.commit(batch);
+		}
+
+		// Assert
+		assertEquals("message-0", first.get(0).getValue());
+		assertNull(first.get(0).getKey());
+		assertEquals("key-1", first.get(1).getKey());
+		assertEquals(8, replayed.toString().split(",").length);
+		assertTrue(replayed.toString().startsWith("message-2,message-3,"));
+		assertTrue(replayed.toString().endsWith("message-9,"));
+		try (Stream<Path> files = Files.list(directory)) {
+			// Replayed segments are deleted; only the one still open for writes is left
+			assertEquals(1, files.collect(Collectors.toList()).size());
+		}
+	}
+}
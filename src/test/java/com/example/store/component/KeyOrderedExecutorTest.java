@@ -0,0 +1,43 @@
+package com.example.store.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class KeyOrderedExecutorTest {
+
+	@Test
+	public void testKeepsOrderPerKey() {
+		// Arrange
+		final Map<Long, List<Integer>> seen = new ConcurrentHashMap<>();
+		final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+		// Act
+		try (KeyOrderedExecutor executor = new KeyOrderedExecutor("test", 4)) {
+			for (int i = 0; i < 1000; i++) {
+				final long key = i % 7;
+				final int sequence = i;
+				tasks.add(executor.submit(key,
+						() -> seen.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(sequence)));
+			}
+			CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+		}
+
+		// Assert
+		for (long key = 0; key < 7; key++) {
+			final long k = key;
+			final List<Integer> expected = IntStream.range(0, 1000).filter(i -> i % 7 == k).boxed()
+					.collect(Collectors.toList());
+			assertEquals(expected, seen.get(key));
+		}
+	}
+}
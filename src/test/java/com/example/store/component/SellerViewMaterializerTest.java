@@ -0,0 +1,123 @@
+package com.example.store.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.store.pojo.StoreEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SellerViewMaterializerTest {
+
+	private static final String TOPIC = "javami-store-events";
+	private static final TopicPartition P0 = new TopicPartition(TOPIC, 0);
+	private static final TopicPartition P1 = new TopicPartition(TOPIC, 1);
+
+	private SellerView sellerView;
+	private SellerViewMaterializer materializer;
+	private MockConsumer<String, StoreEvent> consumer;
+
+	@BeforeEach
+	public void setUp() {
+		sellerView = new SellerView();
+		materializer = new SellerViewMaterializer(sellerView, new EventDeduplicator(100, new SimpleMeterRegistry()),
+				2);
+		ReflectionTestUtils.setField(materializer, "topic", TOPIC);
+		ReflectionTestUtils.setField(materializer, "replay", true);
+		consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+		final Node node = new Node(0, "localhost", 9092);
+		consumer.updatePartitions(TOPIC, Arrays.asList(new PartitionInfo(TOPIC, 0, node, null, null),
+				new PartitionInfo(TOPIC, 1, node, null, null)));
+		consumer.updateBeginningOffsets(Map.of(P0, 0L, P1, 0L));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		materializer.shutdown();
+	}
+
+	@Test
+	public void testReadyOnceEveryPartitionReachesItsEndOffsetAtAssignment() {
+		// Arrange: partition 0 holds two events, partition 1 is empty
+		consumer.updateEndOffsets(Map.of(P0, 2L, P1, 0L));
+		consumer.assign(Arrays.asList(P0, P1));
+		consumer.commitSync(Map.of(P0, new OffsetAndMetadata(1L)));
+
+		// Act & Assert
+		materializer.onPartitionsAssigned(consumer, Arrays.asList(P0, P1));
+		// Replay ignores the committed offset
+		assertEquals(0L, consumer.position(P0));
+		assertFalse(sellerView.isReady());
+
+		materializer.onEvents(Collections.singletonList(record(0, 0, 1L)), () -> { });
+		assertFalse(sellerView.isReady());
+
+		// Events produced after assignment do not move the target
+		consumer.updateEndOffsets(Map.of(P0, 5L));
+		materializer.onEvents(Collections.singletonList(record(0, 1, 2L)), () -> { });
+		assertTrue(sellerView.isReady());
+		assertEquals(2, sellerView.size());
+	}
+
+	@Test
+	public void testNotReadyUntilEveryPartitionOfTheTopicIsAssigned() {
+		// Arrange: two consumer threads, the first one assigned and already caught up
+		consumer.updateEndOffsets(Map.of(P0, 0L, P1, 1L));
+		consumer.assign(Collections.singletonList(P0));
+
+		// Act & Assert
+		materializer.onPartitionsAssigned(consumer, Collections.singletonList(P0));
+		assertFalse(sellerView.isReady());
+
+		final MockConsumer<String, StoreEvent> other = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+		other.updatePartitions(TOPIC, consumer.partitionsFor(TOPIC));
+		other.updateBeginningOffsets(Map.of(P1, 0L));
+		other.updateEndOffsets(Map.of(P1, 1L));
+		other.assign(Collections.singletonList(P1));
+		materializer.onPartitionsAssigned(other, Collections.singletonList(P1));
+		assertFalse(sellerView.isReady());
+
+		materializer.onEvents(Collections.singletonList(record(1, 0, 1L)), () -> { });
+		assertTrue(sellerView.isReady());
+	}
+
+	@Test
+	public void testResumesFromCommittedOffsetWithoutReplay() {
+		// Arrange
+		ReflectionTestUtils.setField(materializer, "replay", false);
+		consumer.updateEndOffsets(Map.of(P0, 3L, P1, 0L));
+		consumer.assign(Arrays.asList(P0, P1));
+		consumer.seek(P0, 3L);
+
+		// Act
+		materializer.onPartitionsAssigned(consumer, Arrays.asList(P0, P1));
+
+		// Assert
+		assertEquals(3L, consumer.position(P0));
+		assertTrue(sellerView.isReady());
+	}
+
+	private static ConsumerRecord<String, StoreEvent> record(final int partition, final long offset,
+			final Long sellerId) {
+		final StoreEvent event = StoreEvent.sellerCreated(1L, sellerId, "Seller " + sellerId, "Kochi");
+		event.setEventId(partition * 100L + offset + 1);
+		return new ConsumerRecord<>(TOPIC, partition, offset, "1", event);
+	}
+}
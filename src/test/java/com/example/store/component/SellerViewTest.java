@@ -0,0 +1,54 @@
+package com.example.store.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.store.pojo.SellerPojo;
+import com.example.store.pojo.StoreEvent;
+
+public class SellerViewTest {
+
+	@Test
+	public void testIndexesSellersByStoreAndLocation() {
+		// Arrange
+		final SellerView view = new SellerView();
+
+		// Act
+		view.apply(StoreEvent.storeCreated(1L, "Store 1", "Kochi"));
+		view.apply(StoreEvent.sellerCreated(1L, 11L, "Seller 11", "Kochi"));
+		view.apply(StoreEvent.sellerCreated(1L, 10L, "Seller 10", " kochi "));
+		view.apply(StoreEvent.sellerCreated(2L, 20L, "Seller 20", "Delhi"));
+		// Redelivery of an event already applied
+		view.apply(StoreEvent.sellerCreated(1L, 11L, "Seller 11", "Kochi"));
+
+		// Assert
+		assertEquals(List.of(10L, 11L), ids(view.findSellersByStore(1L)));
+		assertEquals(List.of(10L, 11L), ids(view.findSellersByLocation("KOCHI")));
+		assertEquals(List.of(20L), ids(view.findSellersByLocation("Delhi")));
+		assertTrue(view.findSellersByStore(3L).isEmpty());
+		assertEquals(3, view.size());
+	}
+
+	@Test
+	public void testSellerEventBeforeItsStoreEvent() {
+		// Arrange
+		final SellerView view = new SellerView();
+
+		// Act: the outbox relay does not guarantee commit order
+		view.apply(StoreEvent.sellerCreated(1L, 11L, "Seller 11", "Kochi"));
+		view.apply(StoreEvent.storeCreated(1L, "Store 1", "Kochi"));
+
+		// Assert
+		assertEquals(List.of(11L), ids(view.findSellersByStore(1L)));
+		assertEquals(1, view.size());
+	}
+
+	private static List<Long> ids(final List<SellerPojo> sellers) {
+		return sellers.stream().map(SellerPojo::getId).collect(Collectors.toList());
+	}
+}
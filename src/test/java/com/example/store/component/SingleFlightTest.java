@@ -0,0 +1,78 @@
+package com.example.store.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+	@Test
+	public void testConcurrentCallersShareOneLoad() throws Exception {
+		// Arrange
+		final SingleFlight<Long, String> singleFlight = new SingleFlight<>("test");
+		final AtomicInteger loads = new AtomicInteger();
+		final CountDownLatch release = new CountDownLatch(1);
+		final int callers = 8;
+		final CountDownLatch started = new CountDownLatch(callers);
+		final ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+		// Act
+		final List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < callers; i++) {
+			results.add(executor.submit(() -> {
+				started.countDown();
+				return singleFlight.execute(1L, () -> {
+					loads.incrementAndGet();
+					await(release);
+					return "seller-1";
+				});
+			}));
+		}
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		// Let every caller reach the in-flight map before the leader finishes
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (singleFlight.getCollapsed() < callers - 1 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		release.countDown();
+
+		// Assert
+		for (final Future<String> result : results) {
+			assertEquals("seller-1", result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, loads.get());
+		assertEquals(callers - 1, singleFlight.getCollapsed());
+		executor.shutdown();
+	}
+
+	@Test
+	public void testLoaderExceptionIsRethrownAndNotRemembered() {
+		// Arrange
+		final SingleFlight<Long, String> singleFlight = new SingleFlight<>("test");
+
+		// Act and Assert
+		assertThrows(IllegalArgumentException.class, () -> singleFlight.execute(1L, () -> {
+			throw new IllegalArgumentException("missing");
+		}));
+		assertEquals("found", singleFlight.execute(1L, () -> "found"));
+	}
+
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.store.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.example.store.entity.OutboxEvent;
+import com.example.store.pojo.StoreEvent;
+import com.example.store.repo.OutboxEventRepo;
+
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+@Import(StoreEventOutbox.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public class StoreEventOutboxTest {
+
+	@Autowired
+	private StoreEventOutbox outbox;
+
+	@Autowired
+	private OutboxEventRepo outboxEventRepo;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void testEachEventIsWrittenByOneInsert() {
+		// Arrange
+		final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		// Act
+		outbox.record(StoreEvent.storeCreated(1L, "Store", "Kochi"));
+		outbox.record(StoreEvent.sellerCreated(1L, 10L, "Seller", "Kochi"));
+		testEntityManager.flush();
+
+		// Assert
+		assertEquals(2, statistics.getEntityInsertCount());
+		assertEquals(0, statistics.getEntityUpdateCount());
+		final List<OutboxEvent> events = outboxEventRepo.findAll();
+		assertEquals(2, events.size());
+		events.forEach(event -> assertFalse(event.getPayload().isEmpty()));
+	}
+}
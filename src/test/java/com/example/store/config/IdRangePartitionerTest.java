@@ -0,0 +1,84 @@
+package com.example.store.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class IdRangePartitionerTest {
+
+	@Test
+	public void testRangesCoverMinToMaxWithoutGaps() {
+		// Arrange
+		final IdRangePartitioner partitioner = partitioner(5L, 104L);
+
+		// Act
+		final List<long[]> ranges = ranges(partitioner.partition(4));
+
+		// Assert
+		assertEquals(4, ranges.size());
+		assertEquals(5L, ranges.get(0)[0]);
+		assertEquals(104L, ranges.get(ranges.size() - 1)[1]);
+		for (int i = 1; i < ranges.size(); i++) {
+			assertEquals(ranges.get(i - 1)[1] + 1, ranges.get(i)[0]);
+		}
+	}
+
+	@Test
+	public void testEmptyTableGivesOneEmptyRange() {
+		// Arrange
+		final IdRangePartitioner partitioner = partitioner(null, null);
+
+		// Act
+		final List<long[]> ranges = ranges(partitioner.partition(4));
+
+		// Assert
+		assertEquals(1, ranges.size());
+		assertEquals(1L, ranges.get(0)[0]);
+		assertEquals(0L, ranges.get(0)[1]);
+	}
+
+	@Test
+	public void testGridLargerThanIdSpanGivesOneIdPerRange() {
+		// Arrange
+		final IdRangePartitioner partitioner = partitioner(1L, 3L);
+
+		// Act
+		final List<long[]> ranges = ranges(partitioner.partition(10));
+
+		// Assert
+		assertEquals(3, ranges.size());
+		for (int i = 0; i < ranges.size(); i++) {
+			assertEquals(i + 1, ranges.get(i)[0]);
+			assertEquals(i + 1, ranges.get(i)[1]);
+		}
+	}
+
+	private static IdRangePartitioner partitioner(final Long minId, final Long maxId) {
+		final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		final Map<String, Object> bounds = new HashMap<>();
+		bounds.put("min_id", minId);
+		bounds.put("max_id", maxId);
+		when(jdbcTemplate.queryForMap(anyString())).thenReturn(bounds);
+		return new IdRangePartitioner(jdbcTemplate, "seller", "id");
+	}
+
+	// [minId, maxId] per partition, ordered by minId
+	private static List<long[]> ranges(final Map<String, ExecutionContext> partitions) {
+		final List<long[]> ranges = new ArrayList<>();
+		partitions.values()
+				.forEach(context -> ranges.add(new long[] { context.getLong("minId"), context.getLong("maxId") }));
+		ranges.sort(Comparator.comparingLong(range -> range[0]));
+		return ranges;
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.store.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.example.store.pojo.AuthUser;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+public class JwtUtilTest {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+	@Test
+	public void testAuthenticationComesFromClaims() {
+		// Arrange
+		final JwtUtil jwtUtil = new JwtUtil(SECRET, 100);
+		final AuthUser user = new AuthUser(7L, "alice", "hash",
+				List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_SELLER")));
+		final String token = jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(user, null,
+				user.getAuthorities()));
+
+		// Act
+		final Authentication authentication = jwtUtil.getAuthentication(token);
+
+		// Assert
+		final AuthUser principal = (AuthUser) authentication.getPrincipal();
+		assertEquals(7L, principal.getId());
+		assertEquals("alice", principal.getUsername());
+		assertEquals(List.of("ROLE_ADMIN", "ROLE_SELLER"), authentication.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority).sorted().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testTokenFromAnotherKeyIsRejected() {
+		// Arrange
+		final AuthUser user = new AuthUser(7L, "alice", "hash", List.of());
+		final String token = new JwtUtil("", 100).generateToken(new UsernamePasswordAuthenticationToken(user, null));
+
+		// Act & Assert
+		assertThrows(JwtException.class, () -> new JwtUtil(SECRET, 100).getAuthentication(token));
+	}
+
+	@Test
+	public void testRepeatedTokenIsNotVerifiedAgain() {
+		// Arrange
+		final JwtUtil jwtUtil = spy(new JwtUtil(SECRET, 100));
+		final String token = token(jwtUtil, "alice");
+
+		// Act
+		jwtUtil.getAuthentication(token);
+		final Authentication authentication = jwtUtil.getAuthentication(token);
+
+		// Assert
+		assertEquals("alice", ((AuthUser) authentication.getPrincipal()).getUsername());
+		verify(jwtUtil, times(1)).parseClaims(token);
+	}
+
+	@Test
+	public void testCachedClaimsExpireWithTheToken() {
+		// Arrange
+		final AtomicLong nanos = new AtomicLong();
+		final JwtUtil jwtUtil = spy(new JwtUtil(SECRET, 100, nanos::get));
+		final String token = token(jwtUtil, "alice");
+		final long untilExpiry = jwtUtil.extractExpiration(token).getTime() - System.currentTimeMillis();
+
+		// Act & Assert: one minute before the token's expiry the claims are still cached
+		nanos.set(TimeUnit.MILLISECONDS.toNanos(untilExpiry - 60_000));
+		jwtUtil.getAuthentication(token);
+		verify(jwtUtil, times(1)).parseClaims(token);
+		// One minute after it they are gone and the token is verified again
+		nanos.set(TimeUnit.MILLISECONDS.toNanos(untilExpiry + 60_000));
+		jwtUtil.getAuthentication(token);
+		verify(jwtUtil, times(2)).parseClaims(token);
+	}
+
+	@Test
+	public void testTamperedTokenIsRejectedWhileOriginalIsCached() {
+		// Arrange: bob's payload under alice's signature
+		final JwtUtil jwtUtil = new JwtUtil(SECRET, 100);
+		final String alice = token(jwtUtil, "alice");
+		final String bob = token(jwtUtil, "bob");
+		jwtUtil.getAuthentication(alice);
+		final String[] aliceParts = alice.split("\\.");
+		final String tampered = aliceParts[0] + "." + bob.split("\\.")[1] + "." + aliceParts[2];
+
+		// Act & Assert
+		assertThrows(SignatureException.class, () -> jwtUtil.getAuthentication(tampered));
+	}
+
+	private static String token(final JwtUtil jwtUtil, final String username) {
+		final AuthUser user = new AuthUser(7L, username, "hash", List.of());
+		return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(user, null));
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.store.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.batch.BatchAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.store.entity.Store;
+import com.example.store.repo.SellerRepository;
+import com.example.store.repo.StoreRepository;
+
+// Not transactional: the job repository refuses to start a job inside an existing transaction
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.batch.job.enabled=false" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ SellerImportConfiguration.class, SellerImportJobTest.BatchTestConfiguration.class })
+@ImportAutoConfiguration(BatchAutoConfiguration.class)
+public class SellerImportJobTest {
+
+	@TestConfiguration
+	@EnableBatchProcessing
+	static class BatchTestConfiguration {
+	}
+
+	@Autowired
+	private JobLauncher jobLauncher;
+
+	@Autowired
+	private Job sellerImportJob;
+
+	@Autowired
+	private StoreRepository storeRepo;
+
+	@Autowired
+	private SellerRepository sellerRepo;
+
+	@Test
+	void testRowRejectedByDatabaseIsSkipped(@TempDir final Path dir) throws Exception {
+		// Arrange: the second seller is longer than the name column and fails when the chunk is flushed
+		final Store store = new Store();
+		store.setName("Store");
+		store.setLocation("Kollam");
+		final Long storeId = storeRepo.save(store).getId();
+		final Path input = dir.resolve("sellers.csv");
+		Files.write(input, Arrays.asList("storeId,name,location", storeId + ",Seller 1,Kollam",
+				storeId + "," + "x".repeat(300) + ",Kollam", storeId + ",Seller 3,Kollam"), StandardCharsets.UTF_8);
+
+		// Act
+		final JobExecution execution = jobLauncher.run(sellerImportJob,
+				new JobParametersBuilder().addString("input.file", input.toString()).toJobParameters());
+
+		// Assert
+		assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+		final StepExecution stepExecution = execution.getStepExecutions().iterator().next();
+		assertEquals(2, stepExecution.getWriteCount());
+		assertEquals(1, stepExecution.getWriteSkipCount());
+		assertEquals(2, sellerRepo.count());
+	}
+}
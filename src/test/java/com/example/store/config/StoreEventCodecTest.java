@@ -0,0 +1,67 @@
+package com.example.store.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.store.pojo.StoreEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class StoreEventCodecTest {
+
+	@Test
+	public void testRoundTrip() {
+		// Arrange
+		final StoreEvent event = StoreEvent.sellerCreated(42L, 1_000_000_007L, "M\u00fcller & S\u00f6hne", "Kochi");
+		event.setEventId(Long.MAX_VALUE - 1);
+
+		// Act
+		final StoreEvent decoded = StoreEventCodec.decode(StoreEventCodec.encode(event));
+
+		// Assert
+		assertEquals(event, decoded);
+	}
+
+	@Test
+	public void testRoundTripWithNulls() {
+		// Arrange
+		final StoreEvent event = StoreEvent.storeCreated(0L, null, "");
+
+		// Act
+		final StoreEvent decoded = StoreEventCodec.decode(StoreEventCodec.encode(event));
+
+		// Assert
+		assertEquals(event, decoded);
+	}
+
+	@Test
+	public void testSmallerThanJson() throws Exception {
+		// Arrange
+		final StoreEvent event = StoreEvent.sellerCreated(1234L, 567890L, "Seller name", "Location");
+		event.setEventId(98765L);
+
+		// Act
+		final int binary = StoreEventCodec.encode(event).length;
+		final int json = new ObjectMapper().writeValueAsBytes(event).length;
+
+		// Assert
+		assertTrue(binary * 2 < json, "binary " + binary + " bytes, json " + json + " bytes");
+	}
+
+	@Test
+	public void testRejectsUnknownVersionAndTruncatedInput() {
+		// Arrange
+		final byte[] encoded = StoreEventCodec.encode(StoreEvent.storeCreated(1L, "Store", "Kochi"));
+		final byte[] wrongVersion = encoded.clone();
+		wrongVersion[0] = 99;
+		final byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> StoreEventCodec.decode(wrongVersion));
+		assertThrows(IllegalArgumentException.class, () -> StoreEventCodec.decode(truncated));
+	}
+}
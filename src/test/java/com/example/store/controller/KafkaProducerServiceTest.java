@@ -0,0 +1,77 @@
+package com.example.store.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import com.example.store.component.KafkaSpool;
+import com.example.store.service.KafkaProducerService;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class KafkaProducerServiceTest {
+
+	private KafkaTemplate<String, String> kafkaTemplate;
+	private KafkaSpool spool;
+	private CircuitBreaker circuitBreaker;
+	private KafkaProducerService kafkaProducerService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		kafkaTemplate = mock(KafkaTemplate.class);
+		spool = mock(KafkaSpool.class);
+		final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+		circuitBreaker = circuitBreakerRegistry.circuitBreaker("kafkaProducer");
+		kafkaProducerService = new KafkaProducerService(kafkaTemplate, mock(KafkaTemplate.class), spool,
+				new SimpleMeterRegistry(), circuitBreakerRegistry, 10, Duration.ofMillis(100));
+	}
+
+	@Test
+	public void testSpooledMessagesDoNotUseHalfOpenTrialCalls() throws Exception {
+		// Arrange: earlier messages are still waiting in the spool
+		circuitBreaker.transitionToOpenState();
+		circuitBreaker.transitionToHalfOpenState();
+		when(spool.isEmpty()).thenReturn(false);
+
+		// Act
+		for (int i = 0; i < 20; i++) {
+			assertNull(kafkaProducerService.sendMessage("topic", "key", "message " + i).get());
+		}
+
+		// Assert
+		verify(spool, times(20)).append(any(), any(), any());
+		verify(kafkaTemplate, never()).send(any(), any(), any());
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+		assertEquals(0, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+	}
+
+	@Test
+	public void testMessageIsSpooledWhileBreakerIsOpen() throws Exception {
+		// Arrange
+		circuitBreaker.transitionToOpenState();
+		when(spool.isEmpty()).thenReturn(true);
+
+		// Act
+		final Object result = kafkaProducerService.sendMessage("topic", "key", "message").get();
+
+		// Assert
+		assertNull(result);
+		verify(spool).append("topic", "key", "message");
+		verify(kafkaTemplate, never()).send(any(), any(), any());
+		assertEquals(1, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+	}
+}
@@ -0,0 +1,97 @@
+package com.example.store.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.store.component.SellerView;
+import com.example.store.component.SingleFlight;
+import com.example.store.component.StoreEventOutbox;
+import com.example.store.entity.Seller;
+import com.example.store.entity.Store;
+import com.example.store.pojo.SellerImportResult;
+import com.example.store.pojo.SellerPojo;
+import com.example.store.repo.OutboxEventRepo;
+import com.example.store.repo.SellerRepository;
+import com.example.store.repo.StoreRepository;
+import com.example.store.service.StoreServiceImpl;
+
+// Not transactional: each chunk must commit or roll back on its own as it does in production
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"store.bulk.chunk-size=2" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ StoreServiceImpl.class, StoreEventOutbox.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public class StoreServiceImportTest {
+
+	@Autowired
+	private StoreServiceImpl storeService;
+
+	@Autowired
+	private StoreRepository storeRepo;
+
+	@Autowired
+	private SellerRepository sellerRepo;
+
+	@Autowired
+	private OutboxEventRepo outboxEventRepo;
+
+	@MockBean
+	private SingleFlight<Long, SellerPojo> sellerLoads;
+
+	@MockBean
+	private SellerView sellerView;
+
+	@AfterEach
+	public void tearDown() {
+		outboxEventRepo.deleteAll();
+		sellerRepo.deleteAll();
+		storeRepo.deleteAll();
+	}
+
+	@Test
+	void testFailingMiddleChunkIsReportedPerRow() {
+		// Arrange: the third row is longer than the name column, so the second chunk fails at flush
+		final Store store = new Store();
+		store.setName("Store");
+		store.setLocation("Kollam");
+		final Long storeId = storeRepo.save(store).getId();
+		final List<Seller> sellers = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			final Seller seller = new Seller();
+			seller.setName(i == 2 ? "x".repeat(300) : "Seller " + i);
+			seller.setLocation("Kollam");
+			sellers.add(seller);
+		}
+
+		// Act
+		final List<SellerImportResult> results = storeService.createSellers(storeId, sellers.iterator());
+
+		// Assert
+		assertEquals(5, results.size());
+		for (final int created : new int[] { 0, 1, 4 }) {
+			assertNotNull(results.get(created).getId());
+			assertNull(results.get(created).getError());
+		}
+		for (final int failed : new int[] { 2, 3 }) {
+			assertNull(results.get(failed).getId());
+			assertNotNull(results.get(failed).getError());
+		}
+		assertEquals(3, sellerRepo.count());
+		assertEquals(3, outboxEventRepo.count());
+	}
+}
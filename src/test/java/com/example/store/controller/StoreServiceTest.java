@@ -1,9 +1,19 @@
 package com.example.store.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +21,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
-import com.example.store.entity.Seller;
+import com.example.store.component.SingleFlight;
+import com.example.store.pojo.SellerBatch;
+import com.example.store.pojo.SellerPage;
+import com.example.store.pojo.SellerPojo;
 import com.example.store.repo.SellerRepository;
 import com.example.store.service.StoreServiceImpl;
 
@@ -21,6 +35,9 @@ public class StoreServiceTest {
 	@Mock
 	private SellerRepository sellerRepo;
 
+	@Spy
+	private SingleFlight<Long, SellerPojo> sellerLoads = new SingleFlight<>("seller");
+
 	@InjectMocks
 	private StoreServiceImpl storeService;
 
@@ -32,16 +49,13 @@ public class StoreServiceTest {
 	@Test
 	public void testFindStoreWithValidId() {
 		// Arrange
-		final Seller seller = new Seller();
 		final long sellerId = 1L;
-		seller.setId(sellerId);
-		seller.setName("Anandu");
-		seller.setLocation("Kollam");
+		final SellerPojo seller = new SellerPojo(sellerId, "Anandu", "Kollam");
 
-		when(sellerRepo.findById(sellerId)).thenReturn(Optional.of(seller));
+		when(sellerRepo.findViewById(sellerId)).thenReturn(Optional.of(seller));
 
 		// Act
-		final Seller result = storeService.findStore(sellerId);
+		final SellerPojo result = storeService.findStore(sellerId);
 
 		// Assert
 		assertEquals(sellerId, result.getId());
@@ -53,11 +67,72 @@ public class StoreServiceTest {
 	public void testFindStoreWithInvalidId() {
 		// Arrange
 		final long invalidSellerId = -1L;
-		when(sellerRepo.findById(invalidSellerId)).thenReturn(Optional.empty());
+		when(sellerRepo.findViewById(invalidSellerId)).thenReturn(Optional.empty());
 
 		// Act and Assert
 		final Exception exception = assertThrows(IllegalArgumentException.class,
 				() -> storeService.findStore(invalidSellerId));
 		assertEquals("Store not found with id: " + invalidSellerId, exception.getMessage());
 	}
+
+	@Test
+	public void testFindStoresPageReturnsNextCursor() {
+		// Arrange
+		when(sellerRepo.findPageAfter(eq(0L), any())).thenReturn(sellers(1L, 2L, 3L));
+
+		// Act
+		final SellerPage page = storeService.findStores(null, 2);
+
+		// Assert
+		assertEquals(2, page.getItems().size());
+		assertEquals(2L, page.getNextCursor());
+	}
+
+	@Test
+	public void testFindStoresLastPage() {
+		// Arrange
+		when(sellerRepo.findPageAfter(eq(2L), any())).thenReturn(sellers(3L));
+
+		// Act
+		final SellerPage page = storeService.findStores(2L, 2);
+
+		// Assert
+		assertEquals(1, page.getItems().size());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	public void testFindStoresByIdsKeepsRequestOrder() {
+		// Arrange
+		when(sellerRepo.findViewsByIdIn(any())).thenReturn(sellers(1L, 3L));
+
+		// Act
+		final SellerBatch batch = storeService.findStores(Arrays.asList(3L, 2L, 1L));
+
+		// Assert
+		assertEquals(3L, batch.getSellers().get(0).getId());
+		assertEquals(1L, batch.getSellers().get(1).getId());
+		assertEquals(Arrays.asList(2L), batch.getMissingIds());
+	}
+
+	@Test
+	public void testFindStoresByNoIdsSkipsQuery() {
+		// Act
+		final SellerBatch batch = storeService.findStores(Arrays.asList(null, null));
+
+		// Assert
+		assertTrue(batch.getSellers().isEmpty());
+		assertTrue(batch.getMissingIds().isEmpty());
+		verify(sellerRepo, never()).findViewsByIdIn(any());
+		assertTrue(storeService.findStores(Collections.emptyList()).getSellers().isEmpty());
+		verify(sellerRepo, never()).findViewsByIdIn(any());
+	}
+
+	private static List<SellerPojo> sellers(final Long... ids) {
+		final List<SellerPojo> sellers = new ArrayList<>();
+		for (final Long id : ids) {
+			sellers.add(new SellerPojo(id, "Seller " + id, "Kollam"));
+		}
+		return sellers;
+	}
 }
@@ -0,0 +1,99 @@
+package com.example.store.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.store.entity.Seller;
+import com.example.store.entity.Store;
+
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+public class StoreRepositoryTest {
+
+	@Autowired
+	private StoreRepository storeRepo;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	public void setUp() {
+		for (int i = 1; i <= 3; i++) {
+			final Store store = new Store();
+			store.setName("Store " + i);
+			store.setLocation("Kollam");
+			testEntityManager.persist(store);
+			for (int j = 1; j <= 2; j++) {
+				final Seller seller = new Seller();
+				seller.setName("Seller " + i + "." + j);
+				seller.setLocation("Kollam");
+				seller.setStore(store);
+				testEntityManager.persist(seller);
+			}
+		}
+		testEntityManager.flush();
+		testEntityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void testStoreWithSellersLoadsInOneStatement() {
+		// Act
+		final Long storeId = storeRepo.findIdPage(PageRequest.of(0, 1)).get(0);
+		statistics.clear();
+		final Store store = storeRepo.findWithSellersById(storeId).orElseThrow();
+
+		// Assert
+		assertEquals(2, store.getSellers().size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void testStorePageLoadsInTwoStatements() {
+		// Act
+		final List<Long> ids = storeRepo.findIdPage(PageRequest.of(0, 2));
+		final List<Store> stores = storeRepo.findWithSellersByIdIn(ids);
+
+		// Assert
+		assertEquals(2, stores.size());
+		stores.forEach(store -> assertEquals(2, store.getSellers().size()));
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void testStoreIsPutInSecondLevelCache() {
+		// Arrange: Hibernate does not cache rows it inserted itself until the transaction commits
+		final Long storeId = 1_000_000L;
+		testEntityManager.getEntityManager()
+				.createNativeQuery("insert into store (id, name, location) values (:id, 'Cached store', 'Kollam')")
+				.setParameter("id", storeId).executeUpdate();
+
+		// Act
+		final Store store = storeRepo.findById(storeId).orElseThrow();
+
+		// Assert
+		assertEquals("Cached store", store.getName());
+		assertTrue(entityManagerFactory.getCache().contains(Store.class, storeId));
+		assertEquals(1, statistics.getSecondLevelCachePutCount());
+	}
+}